@@ -0,0 +1,67 @@
+package com.modernization.todoapp.benchmark;
+
+import com.modernization.todoapp.TodoApplication;
+import com.modernization.todoapp.dto.BulkImportResult;
+import com.modernization.todoapp.model.User;
+import com.modernization.todoapp.service.TaskService;
+import com.modernization.todoapp.service.UserService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Starts the application on a random port against a private in-memory H2
+ * database and seeds it with {@link BenchmarkData}. The web layer stays up
+ * because SecurityConfig needs a servlet context.
+ */
+public final class BenchmarkContext {
+
+    private static final int CHUNK_SIZE = 5000;
+
+    private BenchmarkContext() {
+    }
+
+    // extraArgs are more --property=value settings, e.g. --todo.execution.mode=virtual
+    public static ConfigurableApplicationContext start(int taskCount, String... extraArgs) {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // Command-line arguments, so they win over application.properties
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + System.nanoTime() + ";DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.modernization.todoapp=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"));
+        args.addAll(Arrays.asList(extraArgs));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TodoApplication.class)
+                .run(args.toArray(String[]::new));
+        seed(context, taskCount);
+        return context;
+    }
+
+    private static void seed(ConfigurableApplicationContext context, int taskCount) {
+        UserService userService = context.getBean(UserService.class);
+        TaskService taskService = context.getBean(TaskService.class);
+
+        List<User> users = BenchmarkData.users(BenchmarkData.userCount(taskCount));
+        BulkImportResult result = new BulkImportResult();
+        for (int from = 0; from < users.size(); from += CHUNK_SIZE) {
+            userService.importUserChunk(users.subList(from, Math.min(from + CHUNK_SIZE, users.size())), from, result);
+        }
+
+        // importUserChunk assigned the persisted ids on the same objects; tasks are generated
+        // chunk by chunk, so the imported entities do not pile up in memory with 1M rows
+        int[] offset = {0};
+        BenchmarkData.tasks(taskCount, users, CHUNK_SIZE, chunk -> {
+            taskService.importTaskChunk(chunk, offset[0], result);
+            offset[0] += chunk.size();
+        });
+        if (!result.getErrors().isEmpty()) {
+            throw new IllegalStateException("Benchmark seed rejected records: " + result.getErrors().get(0));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.modernization.todoapp.benchmark;
+
+import com.modernization.todoapp.model.Task;
+import com.modernization.todoapp.model.User;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Reproducible data set for the benchmarks: the same seed always yields the
+ * same users and tasks, so results can be compared between releases.
+ */
+public final class BenchmarkData {
+
+    public static final long SEED = 42L;
+    public static final int TAG_VOCABULARY = 50;
+
+    private static final String[] STATUSES = {"TODO", "IN_PROGRESS", "DONE"};
+
+    private BenchmarkData() {
+    }
+
+    // One user per 100 tasks, at least 10
+    public static int userCount(int taskCount) {
+        return Math.max(10, taskCount / 100);
+    }
+
+    public static String tag(int index) {
+        return "tag-" + index;
+    }
+
+    public static List<User> users(int count) {
+        Random random = new Random(SEED);
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(User.builder()
+                    .id((long) i + 1)
+                    .firstName("User" + i)
+                    .lastName("Benchmark" + random.nextInt(1000))
+                    .birthDate(LocalDate.of(1950 + random.nextInt(50), 1 + random.nextInt(12), 1 + random.nextInt(28)))
+                    .build());
+        }
+        return users;
+    }
+
+    // Tasks reference users by position in the given list
+    public static List<Task> tasks(int count, List<User> users) {
+        List<Task> tasks = new ArrayList<>(count);
+        tasks(count, users, count, tasks::addAll);
+        return tasks;
+    }
+
+    // The same tasks, handed over chunkSize at a time so a large data set never sits in memory at once
+    public static void tasks(int count, List<User> users, int chunkSize, Consumer<List<Task>> consumer) {
+        Random random = new Random(SEED + 1);
+        LocalDate today = LocalDate.now();
+        List<Task> tasks = new ArrayList<>(Math.min(count, chunkSize));
+        for (int i = 0; i < count; i++) {
+            tasks.add(Task.builder()
+                    .id((long) i + 1)
+                    .title("Task " + i)
+                    .description("Generated task " + i + " for benchmarking the task endpoints")
+                    .endDate(today.plusDays(1 + random.nextInt(365)))
+                    .creator(users.get(random.nextInt(users.size())))
+                    .assignee(users.get(random.nextInt(users.size())))
+                    .tags(tag(random.nextInt(TAG_VOCABULARY)) + "," + tag(random.nextInt(TAG_VOCABULARY)))
+                    .priority(1 + random.nextInt(3))
+                    .status(STATUSES[random.nextInt(STATUSES.length)])
+                    .build());
+            if (tasks.size() == chunkSize || i == count - 1) {
+                consumer.accept(tasks);
+                tasks = new ArrayList<>(Math.min(count - i - 1, chunkSize));
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.modernization.todoapp.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP load test of the two todo.execution.mode settings: many concurrent clients
+ * reading single tasks and first pages over a real socket. Run with both modes
+ * (-bm thrpt for throughput, -bm sample for the p0.99 latency) and a high thread
+ * count, e.g. -t 400, which is above Tomcat's 200 platform threads. Needs a
+ * Java 21 runtime: on older ones virtual mode is off and the trial fails.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(400)
+@Fork(1)
+public class ExecutionModeBenchmark {
+
+    @Param({"1000"})
+    public int rows;
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need Java 21, running on " + Runtime.version());
+        }
+        context = BenchmarkContext.start(rows, "--todo.execution.mode=" + mode);
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port + "/api/tasks";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // GET /api/tasks/{id} for a random seeded task
+    @Benchmark
+    public int getTask() throws IOException, InterruptedException {
+        return get("/" + (1 + ThreadLocalRandom.current().nextInt(rows)));
+    }
+
+    // GET /api/tasks?size=50
+    @Benchmark
+    public int getFirstPage() throws IOException, InterruptedException {
+        return get("?size=50");
+    }
+
+    private int get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " answered " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
@@ -0,0 +1,108 @@
+package com.modernization.todoapp.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.modernization.todoapp.model.Task;
+import com.modernization.todoapp.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.BeanWrapperImpl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Jackson serialization of task lists as returned by GET /api/tasks, without the database.
+ * Compares the negotiated formats (format), full entities against fields= rows (fields)
+ * and the cost of gzip on top. Payload sizes are asserted in TaskSerializationTest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    // "all" serializes entities with both users, anything else is a fields= list
+    @Param({"all", "title,status"})
+    public String fields;
+
+    private ObjectMapper objectMapper;
+    private List<?> payload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        // Same date handling as the application's mapper
+        objectMapper = new ObjectMapper(factory)
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        List<User> users = BenchmarkData.users(BenchmarkData.userCount(rows));
+        List<Task> tasks = BenchmarkData.tasks(rows, users);
+        payload = "all".equals(fields) ? tasks : rows(tasks, fields.split(","));
+    }
+
+    @Benchmark
+    public long serializeTaskList() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        objectMapper.writeValue(out, payload);
+        return out.count;
+    }
+
+    // What server.compression adds on top, at the default deflate level
+    @Benchmark
+    public long serializeTaskListGzip() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192)) {
+            objectMapper.writeValue(gzip, payload);
+        }
+        return out.count;
+    }
+
+    // Shape of TaskService.getTaskFields: id plus the requested properties
+    private static List<Map<String, Object>> rows(List<Task> tasks, String[] names) {
+        return tasks.stream().map(task -> {
+            BeanWrapperImpl wrapper = new BeanWrapperImpl(task);
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", task.getId());
+            Arrays.stream(names).forEach(name -> row.put(name, wrapper.getPropertyValue(name)));
+            return row;
+        }).toList();
+    }
+
+    // Discards the bytes but keeps the count so the work cannot be optimized away
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.modernization.todoapp.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from launching a new JVM to the first successful GET /api/tasks, for the
+ * startup options one by one: the prod profile (Flyway instead of ddl-auto=update),
+ * then Spring AOT, then the CDS archive. Needs the layout of the startup Maven
+ * profile in target/startup:
+ * mvn -Pbenchmark,startup -DskipTests package exec:exec -Djmh.args="StartupBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final Path STARTUP_DIR = Path.of("target", "startup");
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    @Param({"default", "prod", "prod-aot", "prod-aot-cds"})
+    public String mode;
+
+    private HttpClient client;
+    private Process process;
+    private URI firstRequest;
+
+    @Setup(Level.Trial)
+    public void checkLayout() {
+        if (!Files.exists(STARTUP_DIR.resolve("app.jar")) || !Files.exists(STARTUP_DIR.resolve("app.jsa"))) {
+            throw new IllegalStateException("No startup layout in " + STARTUP_DIR.toAbsolutePath()
+                    + ", build it with mvn -Pbenchmark,startup -DskipTests package");
+        }
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+    }
+
+    @Setup(Level.Invocation)
+    public void pickPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            firstRequest = URI.create("http://localhost:" + socket.getLocalPort() + "/api/tasks?size=1");
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void stop() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+            process = null;
+        }
+    }
+
+    @Benchmark
+    public int timeToFirstRequest() throws IOException, InterruptedException {
+        process = new ProcessBuilder(command(firstRequest.getPort()))
+                .directory(STARTUP_DIR.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(STARTUP_DIR.resolve("startup-benchmark.log").toFile())
+                .start();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        HttpRequest request = HttpRequest.newBuilder(firstRequest).GET().build();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue()
+                        + ", see " + STARTUP_DIR.resolve("startup-benchmark.log"));
+            }
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return response.statusCode();
+                }
+            } catch (ConnectException e) {
+                // Not listening yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("No successful request within " + STARTUP_TIMEOUT);
+    }
+
+    private List<String> command(int port) {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        if (mode.endsWith("-cds")) {
+            // Fail instead of silently starting without the archive, e.g. when app.jar was rebuilt after it
+            command.add("-Xshare:on");
+            command.add("-XX:SharedArchiveFile=app.jsa");
+        }
+        if (mode.contains("-aot")) {
+            command.add("-Dspring.aot.enabled=true");
+        }
+        command.add("-jar");
+        command.add("app.jar");
+        command.add("--server.port=" + port);
+        if (mode.startsWith("prod")) {
+            command.add("--spring.profiles.active=prod");
+        }
+        return command;
+    }
+}
@@ -0,0 +1,78 @@
+package com.modernization.todoapp.benchmark;
+
+import com.modernization.todoapp.dto.TaskFilter;
+import com.modernization.todoapp.dto.UserTasks;
+import com.modernization.todoapp.model.Task;
+import com.modernization.todoapp.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service-level reads against an embedded H2 seeded with {@link BenchmarkData}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskQueryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private int tagIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(rows);
+        taskService = context.getBean(TaskService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Assembly behind GET /api/tasks/by-user
+    @Benchmark
+    public List<UserTasks> tasksGroupedByAssignee() {
+        return taskService.getTasksGroupedByAssignee();
+    }
+
+    // First page of GET /api/tasks/by-user?size=50
+    @Benchmark
+    public Object tasksGroupedByAssigneeFirstPage() {
+        return taskService.getTasksGroupedByAssigneePage(null, 50);
+    }
+
+    // First page of GET /api/tasks?size=50, full entities with both users
+    @Benchmark
+    public Object taskFirstPage() {
+        return taskService.getTaskPage(null, null, null, 50, null);
+    }
+
+    // Same page with fields=title,status, selecting only those columns
+    @Benchmark
+    public Object taskFirstPageFields() {
+        return taskService.searchTaskFields(new TaskFilter(), null, 50, null, "title,status");
+    }
+
+    // GET /api/tasks/full-text with a word and a prefix, ranked in memory then loaded in one query
+    @Benchmark
+    public Object fullTextSearch() {
+        return taskService.searchText("benchmarking task 12*", 50);
+    }
+
+    // GET /api/tasks/tag/{tag}, cycling through the vocabulary
+    @Benchmark
+    public List<Task> tasksByTag() {
+        tagIndex = (tagIndex + 1) % BenchmarkData.TAG_VOCABULARY;
+        return taskService.getTasksByTag(BenchmarkData.tag(tagIndex));
+    }
+}
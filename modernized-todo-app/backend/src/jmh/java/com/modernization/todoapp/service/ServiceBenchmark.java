@@ -0,0 +1,83 @@
+package com.modernization.todoapp.service;
+
+import com.modernization.todoapp.benchmark.BenchmarkContext;
+import com.modernization.todoapp.benchmark.BenchmarkData;
+import com.modernization.todoapp.model.Task;
+import com.modernization.todoapp.model.User;
+import jakarta.validation.ValidationException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-path checks: TaskService.validateTask (package-private, hence this package)
+ * and the duplicate check in UserService.createUser against a seeded H2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private UserService userService;
+    private Task validTask;
+    private User existingUser;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(rows);
+        taskService = context.getBean(TaskService.class);
+        userService = context.getBean(UserService.class);
+        List<User> users = BenchmarkData.users(BenchmarkData.userCount(rows));
+        validTask = BenchmarkData.tasks(1, users).get(0);
+        existingUser = users.get(users.size() / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Task validateTask() {
+        taskService.validateTask(validTask);
+        return validTask;
+    }
+
+    // Successful insert: duplicate lookup plus the insert itself
+    @Benchmark
+    public User createUser() {
+        long n = sequence++;
+        return userService.createUser(User.builder()
+                .firstName("New" + n)
+                .lastName("Benchmark")
+                .birthDate(LocalDate.of(1980, 1, 1))
+                .build());
+    }
+
+    // Rejected insert: only the duplicate lookup
+    @Benchmark
+    public String createDuplicateUser() {
+        try {
+            userService.createUser(User.builder()
+                    .firstName(existingUser.getFirstName())
+                    .lastName(existingUser.getLastName())
+                    .birthDate(existingUser.getBirthDate())
+                    .build());
+            throw new IllegalStateException("Duplicate user was accepted");
+        } catch (ValidationException e) {
+            return e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.modernization.todoapp.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.modernization.todoapp.config.ClientKey;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admission control in front of the REST API. A client over its token bucket gets
+ * 429, and a request beyond the adaptive concurrency limit gets 503, both with
+ * Retry-After and before any work is done. Clients are told apart as for
+ * read-your-writes (see {@link ClientKey}). Rejections are counted in todo.admission.rejected{reason, class}.
+ */
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final double requestsPerSecond;
+    private final int burst;
+    private final int retryAfterSeconds;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, TokenBucket> buckets = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofMinutes(5))
+            .maximumSize(100_000)
+            .build();
+
+    // requestsPerSecond <= 0 turns the per-client rate limit off
+    public AdmissionFilter(AdaptiveConcurrencyLimiter limiter, double requestsPerSecond, int burst,
+                           int retryAfterSeconds, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.requestsPerSecond = requestsPerSecond;
+        this.burst = burst;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // The SSE feed stays open for minutes and health probes must always answer
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.startsWith("/api/") || path.equals("/api/health") || path.equals("/api/tasks/events");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestClass requestClass = RequestClass.of(request);
+        if (requestsPerSecond > 0) {
+            long waitNanos = buckets.get(ClientKey.of(request), key -> new TokenBucket(burst, requestsPerSecond))
+                    .tryConsume();
+            if (waitNanos > 0) {
+                long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfter, "rate-limit", requestClass,
+                        "Too many requests, retry later");
+                return;
+            }
+        }
+        if (!limiter.tryAcquire(requestClass)) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, retryAfterSeconds, "concurrency", requestClass,
+                    "Server is overloaded, retry later");
+            return;
+        }
+
+        long started = System.nanoTime();
+        AtomicBoolean released = new AtomicBoolean();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                // Streaming responses keep their permit until the async request completes
+                request.getAsyncContext().addListener(new ReleasingListener(released, response));
+            } else {
+                release(released, System.nanoTime() - started, failed || overloaded(response));
+            }
+        }
+    }
+
+    private void release(AtomicBoolean released, long latencyNanos, boolean overloaded) {
+        if (released.compareAndSet(false, true)) {
+            limiter.release(latencyNanos, overloaded);
+        }
+    }
+
+    private static boolean overloaded(HttpServletResponse response) {
+        return response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                || response.getStatus() == HttpStatus.GATEWAY_TIMEOUT.value();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String reason,
+                        RequestClass requestClass, String message) throws IOException {
+        meterRegistry.counter("todo.admission.rejected", "reason", reason, "class", requestClass.tag()).increment();
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("error", message));
+    }
+
+    // A stream is long by design, so only its outcome, not its duration, feeds the limit
+    private class ReleasingListener implements AsyncListener {
+
+        private final AtomicBoolean released;
+        private final HttpServletResponse response;
+
+        ReleasingListener(AtomicBoolean released, HttpServletResponse response) {
+            this.released = released;
+            this.response = response;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(released, 0, overloaded(response));
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(released, 0, true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(released, 0, true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
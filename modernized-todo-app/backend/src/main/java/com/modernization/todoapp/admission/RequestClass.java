@@ -0,0 +1,31 @@
+package com.modernization.todoapp.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.regex.Pattern;
+
+/**
+ * Priority of a request under load. Lists and searches are shed first; writes
+ * and single-entity reads can use the whole concurrency limit.
+ */
+public enum RequestClass {
+
+    WRITE,
+    ENTITY_READ,
+    LIST;
+
+    private static final Pattern ENTITY_PATH = Pattern.compile("/api/(tasks|users)/\\d+");
+
+    public static RequestClass of(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return WRITE;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return ENTITY_PATH.matcher(path).matches() ? ENTITY_READ : LIST;
+    }
+
+    public String tag() {
+        return name().toLowerCase().replace('_', '-');
+    }
+}
@@ -0,0 +1,41 @@
+package com.modernization.todoapp.admission;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Classic token bucket: holds up to capacity tokens and refills at a fixed rate,
+ * so a client can burst up to capacity and then sustain the refill rate.
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final LongSupplier nanoTime;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(double capacity, double tokensPerSecond) {
+        this(capacity, tokensPerSecond, System::nanoTime);
+    }
+
+    // The clock is replaceable for tests
+    TokenBucket(double capacity, double tokensPerSecond, LongSupplier nanoTime) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.nanoTime = nanoTime;
+        this.tokens = capacity;
+        this.refilledAt = nanoTime.getAsLong();
+    }
+
+    // Takes one token; returns 0 when granted, otherwise the nanoseconds until one is available
+    synchronized long tryConsume() {
+        long now = nanoTime.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+}
@@ -0,0 +1,68 @@
+package com.modernization.todoapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.modernization.todoapp.admission.AdaptiveConcurrencyLimiter;
+import com.modernization.todoapp.admission.AdmissionFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// todo.admission.enabled=true: per-client rate limit and adaptive concurrency limit
+// on /api/*, see AdmissionFilter
+@Configuration
+@ConditionalOnProperty(name = "todo.admission.enabled", havingValue = "true")
+@Slf4j
+public class AdmissionControlConfig {
+
+    @Value("${todo.admission.rate-limit.requests-per-second:50}")
+    private double requestsPerSecond;
+
+    @Value("${todo.admission.rate-limit.burst:100}")
+    private int burst;
+
+    @Value("${todo.admission.concurrency.initial-limit:20}")
+    private int initialLimit;
+
+    @Value("${todo.admission.concurrency.min-limit:4}")
+    private int minLimit;
+
+    @Value("${todo.admission.concurrency.max-limit:200}")
+    private int maxLimit;
+
+    @Value("${todo.admission.concurrency.latency-threshold-ms:500}")
+    private long latencyThresholdMs;
+
+    @Value("${todo.admission.concurrency.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    @Value("${todo.admission.concurrency.list-share:0.5}")
+    private double listShare;
+
+    @Value("${todo.admission.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, latencyThresholdMs, backoffRatio,
+                listShare, meterRegistry);
+    }
+
+    // Right after the security chain, so rejections still carry the CORS headers
+    @Bean
+    public FilterRegistrationBean<AdmissionFilter> admissionFilter(AdaptiveConcurrencyLimiter limiter,
+                                                                   ObjectMapper objectMapper,
+                                                                   MeterRegistry meterRegistry) {
+        FilterRegistrationBean<AdmissionFilter> registration = new FilterRegistrationBean<>(new AdmissionFilter(
+                limiter, requestsPerSecond, burst, retryAfterSeconds, objectMapper, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        log.info("Admission control on /api: {} requests/s per client (burst {}), concurrency limit {} in [{}, {}]",
+                requestsPerSecond, burst, initialLimit, minLimit, maxLimit);
+        return registration;
+    }
+}
@@ -0,0 +1,18 @@
+package com.modernization.todoapp.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// How requests are attributed to a client, shared by read-your-writes and admission
+// control: the X-Client-Id header, or the remote address when it is missing
+public final class ClientKey {
+
+    public static final String HEADER = "X-Client-Id";
+
+    private ClientKey() {
+    }
+
+    public static String of(HttpServletRequest request) {
+        String client = request.getHeader(HEADER);
+        return client != null && !client.isBlank() ? "id:" + client : "addr:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,47 @@
+package com.modernization.todoapp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.io.IOException;
+
+/**
+ * Counts every API response with a 4xx or 5xx status in todo.errors{status, exception},
+ * whether it came from GlobalExceptionHandler, a controller that caught the exception
+ * itself, the security chain or admission control. The exception tag is the one the
+ * handler resolved, or "none" when the status was set without one.
+ */
+public class ErrorMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    public ErrorMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            // Unhandled, so the container answers 500
+            count(500, e);
+            throw e;
+        }
+        if (response.getStatus() >= 400) {
+            count(response.getStatus(), (Throwable) request.getAttribute(DispatcherServlet.EXCEPTION_ATTRIBUTE));
+        }
+    }
+
+    private void count(int status, Throwable exception) {
+        meterRegistry.counter(MetricsConfig.ERRORS_COUNTER,
+                "exception", exception != null ? exception.getClass().getSimpleName() : "none",
+                "status", String.valueOf(status)).increment();
+    }
+}
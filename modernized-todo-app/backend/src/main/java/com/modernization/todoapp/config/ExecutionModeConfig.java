@@ -0,0 +1,104 @@
+package com.modernization.todoapp.config;
+
+import com.modernization.todoapp.datasource.ConnectionLimitingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// todo.execution.mode=virtual: requests run on virtual threads and the primary database
+// is guarded by a permit limiter, so a burst of requests queues for permits instead of
+// stampeding the pool. Needs Java 21; on older runtimes the mode stays platform.
+@Configuration
+@ConditionalOnProperty(name = "todo.execution.mode", havingValue = "virtual")
+@Conditional(ExecutionModeConfig.OnVirtualThreadRuntime.class)
+@Slf4j
+public class ExecutionModeConfig {
+
+    private static final int VIRTUAL_THREADS_JAVA_VERSION = 21;
+
+    private ExecutorService requestExecutor;
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadRequestExecutor() {
+        requestExecutor = newVirtualThreadPerTaskExecutor();
+        log.info("Handling requests on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(requestExecutor);
+    }
+
+    // Static so the post-processor does not initialize this configuration early. Only the
+    // auto-configured pool is wrapped; with replicas ReadReplicaConfig limits its primary pool
+    // itself and the replica pools stay unlimited, failing fast instead
+    @Bean
+    public static BeanPostProcessor connectionLimiterPostProcessor(Environment environment,
+                                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        boolean replicas = environment.getProperty("todo.datasource.replicas.enabled", Boolean.class, false);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!replicas && "dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof ConnectionLimitingDataSource)) {
+                    return connectionLimiter(dataSource, environment, meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Whether this configuration is active, for pools built outside the bean factory
+    public static boolean limitsConnections(Environment environment) {
+        return "virtual".equals(environment.getProperty("todo.execution.mode"))
+                && Runtime.version().feature() >= VIRTUAL_THREADS_JAVA_VERSION;
+    }
+
+    public static ConnectionLimitingDataSource connectionLimiter(DataSource primary, Environment environment,
+                                                                 MeterRegistry meterRegistry) {
+        int maxConnections = environment.getProperty("todo.execution.db-permits", Integer.class, 10);
+        long acquireTimeoutMs = environment.getProperty("todo.execution.db-acquire-timeout-ms", Long.class, 5000L);
+        return new ConnectionLimitingDataSource(primary, maxConnections, acquireTimeoutMs, meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (requestExecutor != null) {
+            requestExecutor.shutdown();
+        }
+    }
+
+    // Looked up reflectively: the project compiles for Java 17
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads are not available on " + Runtime.version(), e);
+        }
+    }
+
+    static class OnVirtualThreadRuntime extends SpringBootCondition {
+
+        @Override
+        public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            if (Runtime.version().feature() >= VIRTUAL_THREADS_JAVA_VERSION) {
+                return ConditionOutcome.match("Java " + Runtime.version() + " has virtual threads");
+            }
+            log.warn("todo.execution.mode=virtual needs Java {}, running on {}; staying on platform threads",
+                    VIRTUAL_THREADS_JAVA_VERSION, Runtime.version());
+            return ConditionOutcome.noMatch("Virtual threads need Java " + VIRTUAL_THREADS_JAVA_VERSION);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.modernization.todoapp.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Moves user_seq and task_seq past the highest existing id. Databases created
+ * while ids were IDENTITY columns get the sequences from ddl-auto=update starting
+ * at 1, so the first inserts would collide with existing rows. Sequences are only
+ * ever moved forward; runs first among the startup backfills.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class IdSequenceAlignment implements ApplicationRunner {
+
+    // Sequence name -> table whose ids it generates
+    private static final Map<String, String> SEQUENCES = Map.of("user_seq", "users", "task_seq", "tasks");
+
+    // allocationSize of both sequence generators; Hibernate hands out the block ending at the value read
+    private static final long ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${todo.startup.backfill.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        SEQUENCES.forEach((sequence, table) -> {
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+            if (maxId == null) {
+                return;
+            }
+            // Consumes one value, which is harmless for a sequence
+            Long next = jdbcTemplate.queryForObject(
+                    dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+            if (next != null && next - ALLOCATION_SIZE < maxId) {
+                jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + ALLOCATION_SIZE));
+                log.info("Sequence {} moved from {} past the highest {} id {}", sequence, next, table, maxId);
+            }
+        });
+    }
+}
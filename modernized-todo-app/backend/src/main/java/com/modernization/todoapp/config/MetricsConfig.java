@@ -0,0 +1,31 @@
+package com.modernization.todoapp.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Enables @Timed on service classes and counts API errors; the HTTP, Hikari and Hibernate meters are auto-configured
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_TIMER = "todo.service";
+    public static final String ERRORS_COUNTER = "todo.errors";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    // Ahead of the security chain and admission control, so their rejections are counted too
+    @Bean
+    public FilterRegistrationBean<ErrorMetricsFilter> errorMetricsFilter(MeterRegistry registry) {
+        FilterRegistrationBean<ErrorMetricsFilter> registration =
+                new FilterRegistrationBean<>(new ErrorMetricsFilter(registry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
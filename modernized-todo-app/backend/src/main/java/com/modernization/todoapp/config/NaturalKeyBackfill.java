@@ -0,0 +1,40 @@
+package com.modernization.todoapp.config;
+
+import com.modernization.todoapp.service.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills users.natural_key for rows saved before the column existed, so the
+ * duplicate check also sees them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NaturalKeyBackfill implements ApplicationRunner {
+
+    private final UserService userService;
+
+    @Value("${todo.startup.backfill.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int updated = userService.backfillNaturalKeys();
+            if (updated > 0) {
+                log.info("Natural key backfilled for {} users", updated);
+            }
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Natural key backfill skipped, existing users are already duplicated: {}", e.getMessage());
+        }
+    }
+}
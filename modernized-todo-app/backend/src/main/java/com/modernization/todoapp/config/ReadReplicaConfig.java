@@ -0,0 +1,106 @@
+package com.modernization.todoapp.config;
+
+import com.modernization.todoapp.datasource.ReadReplicaRoutingDataSource;
+import com.modernization.todoapp.datasource.ReadYourWritesFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Replaces the auto-configured pool with a primary pool plus one pool per replica
+// URL; read-only transactions are routed to the replicas, see ReadReplicaRoutingDataSource
+@Configuration
+@ConditionalOnProperty(name = "todo.datasource.replicas.enabled", havingValue = "true")
+@Slf4j
+public class ReadReplicaConfig {
+
+    @Value("${todo.datasource.replicas.urls}")
+    private List<String> replicaUrls;
+
+    @Value("${todo.datasource.replicas.connection-timeout-ms:1000}")
+    private long replicaConnectionTimeoutMs;
+
+    @Value("${todo.datasource.replicas.health-check-timeout-seconds:2}")
+    private int healthCheckTimeoutSeconds;
+
+    @Value("${todo.datasource.replicas.read-your-writes-ms:5000}")
+    private long readYourWritesMs;
+
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties, Environment environment, MeterRegistry meterRegistry) {
+        HikariDataSource primaryPool = pool(properties, properties.determineUrl(), "primary", meterRegistry);
+        // In virtual mode only the primary waits for permits; an unavailable replica is ejected instead
+        DataSource primary = ExecutionModeConfig.limitsConnections(environment)
+                ? ExecutionModeConfig.connectionLimiter(primaryPool, environment, meterRegistry)
+                : primaryPool;
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = pool(properties, replicaUrls.get(i), "replica-" + (i + 1), meterRegistry);
+            replica.setReadOnly(true);
+            // A replica that is down is ejected quickly instead of holding the request
+            replica.setConnectionTimeout(replicaConnectionTimeoutMs);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        routingDataSource = new ReadReplicaRoutingDataSource(primary, replicas, healthCheckTimeoutSeconds, meterRegistry);
+        log.info("Routing read-only transactions to {} replicas", replicas.size());
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    // Give the connection back after each transaction, so the next one is routed again
+    // (by default the session keeps it until the end of the request)
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put("hibernate.connection.handling_mode",
+                "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter() {
+        return new ReadYourWritesFilter(Duration.ofMillis(readYourWritesMs));
+    }
+
+    @Scheduled(fixedDelayString = "${todo.datasource.replicas.health-check-ms:5000}")
+    public void checkReplicas() {
+        if (routingDataSource != null) {
+            routingDataSource.checkReplicas();
+        }
+    }
+
+    @PreDestroy
+    public void closePools() throws IOException {
+        if (routingDataSource != null) {
+            routingDataSource.close();
+        }
+    }
+
+    private HikariDataSource pool(DataSourceProperties properties, String url, String name, MeterRegistry meterRegistry) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        pool.setPoolName(name);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+}
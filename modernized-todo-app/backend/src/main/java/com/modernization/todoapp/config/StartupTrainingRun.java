@@ -0,0 +1,91 @@
+package com.modernization.todoapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+
+/**
+ * todo.startup.training-run=true: once the application is ready, sends a few
+ * typical requests to itself and exits. Run under -XX:ArchiveClassesAtExit, this
+ * records the classes that startup and the first requests load into a CDS
+ * archive (see the startup Maven profile). The rows it creates are deleted again,
+ * and it exits with 1 if a request fails. The property is read at runtime rather
+ * than as a bean condition, because AOT processing fixes conditions at build time.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StartupTrainingRun {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${todo.startup.training-run:false}")
+    private boolean enabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void run(ApplicationReadyEvent event) {
+        if (!enabled) {
+            return;
+        }
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        HttpClient client = HttpClient.newHttpClient();
+        boolean ok;
+        try {
+            String user = send(client, baseUrl, "POST", "/api/users",
+                    "{\"firstName\":\"Training\",\"lastName\":\"Run " + System.currentTimeMillis()
+                            + "\",\"birthDate\":\"1990-01-01\"}");
+            long userId = objectMapper.readTree(user).get("id").asLong();
+            String task = send(client, baseUrl, "POST", "/api/tasks",
+                    "{\"title\":\"Training run\",\"endDate\":\"" + LocalDate.now().plusDays(7)
+                            + "\",\"priority\":2,\"status\":\"TODO\",\"tags\":\"startup\","
+                            + "\"creator\":{\"id\":" + userId + "},\"assignee\":{\"id\":" + userId + "}}");
+            long taskId = objectMapper.readTree(task).get("id").asLong();
+            send(client, baseUrl, "GET", "/api/tasks/" + taskId, null);
+            send(client, baseUrl, "GET", "/api/tasks?size=20", null);
+            send(client, baseUrl, "GET", "/api/users", null);
+            send(client, baseUrl, "DELETE", "/api/tasks/" + taskId, null);
+            send(client, baseUrl, "DELETE", "/api/users/" + userId, null);
+            ok = true;
+        } catch (IOException | RuntimeException e) {
+            log.error("Training run failed: {}", e.getMessage());
+            ok = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ok = false;
+        }
+        log.info("Training run finished, exiting");
+        int exitCode = ok ? 0 : 1;
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+
+    // Returns the response body; fails on any status other than 2xx
+    private String send(HttpClient client, String baseUrl, String method, String path, String json)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path));
+        if (json != null) {
+            request.header("Content-Type", "application/json").method(method, HttpRequest.BodyPublishers.ofString(json));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException(method + " " + path + " answered " + response.statusCode());
+        }
+        return response.body();
+    }
+}
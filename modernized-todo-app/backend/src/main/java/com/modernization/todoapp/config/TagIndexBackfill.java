@@ -0,0 +1,43 @@
+package com.modernization.todoapp.config;
+
+import com.modernization.todoapp.service.TaskService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Populates the task_tags index from the comma-separated tags column for rows
+ * written before the index existed. Runs once at startup, one batch per transaction.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TagIndexBackfill implements ApplicationRunner {
+
+    private final TaskService taskService;
+
+    @Value("${todo.tags.backfill-batch-size:500}")
+    private int batchSize;
+
+    @Value("${todo.startup.backfill.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long batches = 0;
+        Long lastId = taskService.backfillTagIndex(0L, batchSize);
+        while (lastId != null) {
+            batches++;
+            lastId = taskService.backfillTagIndex(lastId, batchSize);
+        }
+        if (batches > 0) {
+            log.info("Tag index backfilled in {} batches", batches);
+        }
+    }
+}
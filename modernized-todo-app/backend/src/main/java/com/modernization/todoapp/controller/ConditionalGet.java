@@ -0,0 +1,34 @@
+package com.modernization.todoapp.controller;
+
+import com.modernization.todoapp.dto.ResourceVersion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.ZoneId;
+
+// Answers If-None-Match / If-Modified-Since before the resource is loaded
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    // True when the client copy is current; the handler then returns null and Spring sends 304
+    static boolean notModified(WebRequest request, ResourceVersion version) {
+        // no-cache lets clients and proxies store the body but revalidate it on every use;
+        // the same URL may be JSON, CBOR or Smile depending on Accept
+        if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            servletRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+            servletRequest.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        // Weak: the tag names the data, not the bytes, which differ per encoding and compression.
+        // Tomcat also refuses to compress a response carrying a strong ETag.
+        String etag = "W/\"" + version.getEtag() + "\"";
+        if (version.getLastModified() == null) {
+            return request.checkNotModified(etag);
+        }
+        long lastModified = version.getLastModified().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return request.checkNotModified(etag, lastModified);
+    }
+}
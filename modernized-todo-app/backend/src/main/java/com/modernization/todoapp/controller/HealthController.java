@@ -1,5 +1,10 @@
 package com.modernization.todoapp.controller;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.HealthComponent;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -10,14 +15,20 @@ import java.util.Map;
 @RestController
 @RequestMapping("/api/health")
 @CrossOrigin(origins = "*")
+@RequiredArgsConstructor
 public class HealthController {
 
+    private final HealthEndpoint healthEndpoint;
+
+    // Same checks as /actuator/health (including the datasource probe)
     @GetMapping
     public ResponseEntity<Map<String, Object>> health() {
+        HealthComponent health = healthEndpoint.health();
+        boolean up = Status.UP.equals(health.getStatus());
         Map<String, Object> response = new HashMap<>();
-        response.put("status", "UP");
+        response.put("status", health.getStatus().getCode());
         response.put("timestamp", LocalDateTime.now());
-        response.put("message", "Todo Application is running");
-        return ResponseEntity.ok(response);
+        response.put("message", up ? "Todo Application is running" : "Todo Application is unhealthy");
+        return ResponseEntity.status(up ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(response);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,27 @@
+package com.modernization.todoapp.controller;
+
+import com.modernization.todoapp.dto.LegacyImportResult;
+import com.modernization.todoapp.service.LegacyImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@Lazy
+@RequestMapping("/api/import")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class LegacyImportController {
+
+    private final LegacyImportService legacyImportService;
+
+    // File names are resolved inside todo.legacy-import.directory
+    @PostMapping("/legacy")
+    public ResponseEntity<LegacyImportResult> importLegacyExtracts(@RequestParam String users,
+                                                                   @RequestParam String tasks) throws IOException {
+        return ResponseEntity.ok(legacyImportService.importExtracts(users, tasks));
+    }
+}
@@ -1,18 +1,42 @@
 package com.modernization.todoapp.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.modernization.todoapp.dto.BulkImportResult;
+import com.modernization.todoapp.dto.BulkStatusResult;
+import com.modernization.todoapp.dto.BulkStatusUpdate;
+import com.modernization.todoapp.dto.CursorPage;
+import com.modernization.todoapp.dto.DeadlineReport;
+import com.modernization.todoapp.dto.ResourceVersion;
+import com.modernization.todoapp.dto.TaskFilter;
+import com.modernization.todoapp.dto.TaskStatistics;
+import com.modernization.todoapp.dto.TaskTextHit;
+import com.modernization.todoapp.dto.TextIndexStatus;
 import com.modernization.todoapp.model.Task;
-import com.modernization.todoapp.model.User;
+import com.modernization.todoapp.service.BulkImportService;
+import com.modernization.todoapp.service.TaskDeadlineService;
 import com.modernization.todoapp.service.TaskService;
+import com.modernization.todoapp.service.TaskStatisticsService;
+import com.modernization.todoapp.service.TaskTextIndex;
+import com.modernization.todoapp.service.TaskWriteBuffer;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -21,47 +45,156 @@ import java.util.Map;
 public class TaskController {
 
     private final TaskService taskService;
+    private final BulkImportService bulkImportService;
+    private final TaskStatisticsService taskStatisticsService;
+    private final TaskTextIndex taskTextIndex;
+    private final TaskDeadlineService taskDeadlineService;
+    private final TaskWriteBuffer taskWriteBuffer;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
-    public ResponseEntity<List<Task>> getAllTasks() {
-        return ResponseEntity.ok(taskService.getAllTasks());
+    public ResponseEntity<?> getAllTasks(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer size,
+                                         @RequestParam(required = false) String sort,
+                                         @RequestParam(required = false) String view,
+                                         @RequestParam(required = false) String fields,
+                                         WebRequest request) {
+        return listTasks(null, null, cursor, size, sort, view, fields, request, taskService::getAllTasks);
+    }
+
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllTasks() {
+        return streamTasks(null, null);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Task> getTaskById(@PathVariable Long id) {
+    public ResponseEntity<?> getTaskById(@PathVariable Long id,
+                                         @RequestParam(required = false) String fields,
+                                         WebRequest request) {
+        // A change still in the write buffer is served as written; validators resume once it is flushed
+        Optional<Task> buffered = taskWriteBuffer.getBuffered(id);
+        if (buffered.isPresent()) {
+            if (fields == null) {
+                return ResponseEntity.ok(buffered.get());
+            }
+            taskWriteBuffer.flushNow();
+        }
+        Optional<ResourceVersion> version = taskService.getTaskVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (ConditionalGet.notModified(request, version.get())) {
+            return null;
+        }
+        if (fields != null) {
+            return taskService.getTaskFieldsById(id, fields)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        }
         return taskService.getTaskById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Task>> getTasksByUser(@PathVariable Long userId) {
+    public ResponseEntity<?> getTasksByUser(@PathVariable Long userId,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer size,
+                                            @RequestParam(required = false) String sort,
+                                            @RequestParam(required = false) String view,
+                                            @RequestParam(required = false) String fields,
+                                            WebRequest request) {
         try {
-            return ResponseEntity.ok(taskService.getTasksByAssignee(userId));
+            return listTasks(userId, null, cursor, size, sort, view, fields, request,
+                    () -> taskService.getTasksByAssignee(userId));
+        } catch (jakarta.validation.ValidationException e) {
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    @GetMapping(value = "/user/{userId}", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamTasksByUser(@PathVariable Long userId) {
+        return streamTasks(userId, null);
+    }
+
     @GetMapping("/tag/{tag}")
-    public ResponseEntity<List<Task>> getTasksByTag(@PathVariable String tag) {
-        return ResponseEntity.ok(taskService.getTasksByTag(tag));
+    public ResponseEntity<?> getTasksByTag(@PathVariable String tag,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false) Integer size,
+                                           @RequestParam(required = false) String sort,
+                                           @RequestParam(required = false) String view,
+                                           @RequestParam(required = false) String fields,
+                                           WebRequest request) {
+        return listTasks(null, tag, cursor, size, sort, view, fields, request, () -> taskService.getTasksByTag(tag));
+    }
+
+    @GetMapping(value = "/tag/{tag}", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamTasksByTag(@PathVariable String tag) {
+        return streamTasks(null, tag);
+    }
+
+    // Ad-hoc filters like this and /search carry no validators: the only one available,
+    // the state of the whole table, would cost as much as the query itself
+    @GetMapping("/tags")
+    public ResponseEntity<List<Task>> getTasksByTags(@RequestParam List<String> tags,
+                                                     @RequestParam(defaultValue = "any") String match) {
+        return ResponseEntity.ok(taskService.getTasksByTags(tags, "all".equalsIgnoreCase(match)));
+    }
+
+    // All filters are optional; status and priority accept several values (status=A,B)
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<?>> searchTasks(@ModelAttribute TaskFilter filter,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer size,
+                                                     @RequestParam(required = false) String sort,
+                                                     @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(taskService.searchTaskFields(filter, cursor, size, sort, fields));
+        }
+        return ResponseEntity.ok(taskService.searchTasks(filter, cursor, size, sort));
+    }
+
+    // Words in title/description, accent-insensitive; "impl*" matches by prefix. See TaskTextIndex
+    @GetMapping("/full-text")
+    public ResponseEntity<List<TaskTextHit>> searchText(@RequestParam String q,
+                                                        @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(taskService.searchText(q, limit));
+    }
+
+    // Rebuilds the full-text index in the background; queries keep using the current one
+    @PostMapping("/full-text/rebuild")
+    public ResponseEntity<TextIndexStatus> rebuildTextIndex() {
+        taskTextIndex.rebuildAsync();
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(taskTextIndex.getStatus());
+    }
+
+    // Open tasks past their end date or due within todo.tasks.due-soon-days, kept in memory by TaskDeadlineService
+    @GetMapping("/deadlines")
+    public ResponseEntity<DeadlineReport> getDeadlines(@RequestParam(required = false) Long assigneeId,
+                                                       @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(taskDeadlineService.getReport(assigneeId, Math.max(0, limit)));
+    }
+
+    // Served from in-memory counters, see TaskStatisticsService
+    @GetMapping("/statistics")
+    public ResponseEntity<TaskStatistics> getStatistics() {
+        return ResponseEntity.ok(taskStatisticsService.getStatistics());
     }
 
     @GetMapping("/by-user")
-    public ResponseEntity<List<Map<String, Object>>> getTasksByAllUsers() {
-        List<User> users = taskService.getAllUsersWithTasks();
-        List<Map<String, Object>> result = new ArrayList<>();
-        
-        for (User user : users) {
-            List<Task> userTasks = taskService.getTasksByAssignee(user.getId());
-            Map<String, Object> userData = new HashMap<>();
-            userData.put("user", user);
-            userData.put("tasks", userTasks);
-            result.add(userData);
+    public ResponseEntity<?> getTasksByAllUsers(@RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) Integer size,
+                                                WebRequest request) {
+        if (cursor == null && size == null) {
+            // The whole table, so its state is cheaper than the body; a page of users is not
+            if (ConditionalGet.notModified(request, taskService.getTaskListVersion(null, null))) {
+                return null;
+            }
+            return ResponseEntity.ok(taskService.getTasksGroupedByAssignee());
         }
-        
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok(taskService.getTasksGroupedByAssigneePage(cursor, size));
     }
 
     @PostMapping
@@ -80,11 +213,19 @@ public class TaskController {
         }
     }
 
+    // Accepts a JSON array or an NDJSON stream (one task per line)
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    public ResponseEntity<BulkImportResult> importTasks(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(bulkImportService.importTasks(request.getInputStream()));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Task> updateTask(@PathVariable Long id, @Valid @RequestBody Task task) {
         try {
-            Task updatedTask = taskService.updateTask(id, task);
+            Task updatedTask = taskWriteBuffer.updateTask(id, task);
             return ResponseEntity.ok(updatedTask);
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -92,28 +233,98 @@ public class TaskController {
         }
     }
 
+    // Optional "version" enables the optimistic check; "Prefer: return=minimal" answers 204
+    // without reloading the task
     @PatchMapping("/{id}/status")
-    public ResponseEntity<Task> updateTaskStatus(@PathVariable Long id, @RequestBody Map<String, String> statusUpdate) {
+    public ResponseEntity<Task> updateTaskStatus(@PathVariable Long id, @RequestBody Map<String, String> statusUpdate,
+                                                 @RequestHeader(value = "Prefer", required = false) String prefer) {
         try {
             String status = statusUpdate.get("status");
             if (status == null || status.trim().isEmpty()) {
                 return ResponseEntity.badRequest().build();
             }
+            String version = statusUpdate.get("version");
             
-            Task updatedTask = taskService.updateTaskStatus(id, status);
-            return ResponseEntity.ok(updatedTask);
+            Task buffered = taskWriteBuffer.updateTaskStatus(id, status, version == null ? null : Long.valueOf(version));
+            if (prefer != null && prefer.contains("return=minimal")) {
+                return ResponseEntity.noContent().build();
+            }
+            if (buffered != null) {
+                return ResponseEntity.ok(buffered);
+            }
+            return taskService.getTaskById(id)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (jakarta.validation.ValidationException | OptimisticLockingFailureException e) {
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    // Moves every task matching the id list and/or filter in one UPDATE
+    @PatchMapping("/status")
+    public ResponseEntity<BulkStatusResult> updateTaskStatuses(@RequestBody BulkStatusUpdate request) {
+        return ResponseEntity.ok(taskService.updateTaskStatuses(request));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTask(@PathVariable Long id) {
         try {
+            taskWriteBuffer.discard(id);
             taskService.deleteTask(id);
             return ResponseEntity.noContent().build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
+
+    // Plain array when no paging parameters are given, keyset page when cursor/size/sort are set.
+    // view=summary returns TaskSummary rows instead of full tasks with both users.
+    // fields=id,title,... selects only those columns and takes precedence over view.
+    // One validator covers every page and view of the same filter; the URL tells them apart.
+    private ResponseEntity<?> listTasks(Long assigneeId, String tag, String cursor, Integer size, String sort,
+                                        String view, String fields, WebRequest request, Supplier<List<Task>> unpaged) {
+        if (ConditionalGet.notModified(request, taskService.getTaskListVersion(assigneeId, tag))) {
+            return null;
+        }
+        boolean paged = cursor != null || size != null || sort != null;
+        if (fields != null) {
+            TaskFilter filter = new TaskFilter();
+            filter.setAssigneeId(assigneeId);
+            filter.setTag(tag);
+            return ResponseEntity.ok(paged
+                    ? taskService.searchTaskFields(filter, cursor, size, sort, fields)
+                    : taskService.getTaskFields(filter, fields));
+        }
+        if ("summary".equalsIgnoreCase(view)) {
+            return ResponseEntity.ok(paged
+                    ? taskService.getTaskSummaryPage(assigneeId, tag, cursor, size, sort)
+                    : taskService.getTaskSummaries(assigneeId, tag));
+        }
+        if (!paged) {
+            return ResponseEntity.ok(unpaged.get());
+        }
+        return ResponseEntity.ok(taskService.getTaskPage(assigneeId, tag, cursor, size, sort));
+    }
+
+    // JSON array written row by row from a DB cursor, so heap use does not grow with the result
+    private ResponseEntity<StreamingResponseBody> streamTasks(Long assigneeId, String tag) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                taskService.streamTasks(assigneeId, tag, task -> {
+                    try {
+                        generator.writeObject(task);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
 }
@@ -0,0 +1,25 @@
+package com.modernization.todoapp.controller;
+
+import com.modernization.todoapp.service.TaskEventBroker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/tasks/events")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class TaskEventController {
+
+    private final TaskEventBroker taskEventBroker;
+
+    // Browsers send Last-Event-ID on reconnect; lastEventId covers clients that cannot set headers
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestParam(required = false) Long assigneeId,
+                                @RequestParam(required = false) String status,
+                                @RequestParam(required = false) Long lastEventId,
+                                @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader) {
+        return taskEventBroker.subscribe(assigneeId, status, lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+}
@@ -1,11 +1,16 @@
 package com.modernization.todoapp.controller;
 
+import com.modernization.todoapp.dto.TestDataRequest;
+import com.modernization.todoapp.dto.TestDataResult;
 import com.modernization.todoapp.model.Task;
 import com.modernization.todoapp.model.User;
 import com.modernization.todoapp.service.TaskService;
+import com.modernization.todoapp.service.TestDataGenerator;
 import com.modernization.todoapp.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -13,7 +18,10 @@ import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
 
+// Only registered with the test profile (--spring.profiles.active=test) and created on first use
 @RestController
+@Lazy
+@Profile("test")
 @RequestMapping("/api/test")
 @RequiredArgsConstructor
 @CrossOrigin(origins = "*")
@@ -22,6 +30,7 @@ public class TestDataController {
 
     private final UserService userService;
     private final TaskService taskService;
+    private final TestDataGenerator testDataGenerator;
 
     @PostMapping("/init-data")
     public ResponseEntity<Map<String, String>> initializeTestData() {
@@ -82,4 +91,10 @@ public class TestDataController {
             return ResponseEntity.badRequest().body(error);
         }
     }
-}
\ No newline at end of file
+
+    // Synthetic users and tasks; the same seed and parameters produce the same rows
+    @PostMapping("/generate")
+    public ResponseEntity<TestDataResult> generateTestData(@RequestBody(required = false) TestDataRequest request) {
+        return ResponseEntity.ok(testDataGenerator.generate(request != null ? request : new TestDataRequest()));
+    }
+}
@@ -1,15 +1,23 @@
 package com.modernization.todoapp.controller;
 
+import com.modernization.todoapp.dto.BulkImportResult;
 import com.modernization.todoapp.model.User;
+import com.modernization.todoapp.service.BulkImportService;
 import com.modernization.todoapp.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.HashMap;
 
 @RestController
@@ -19,17 +27,34 @@ import java.util.HashMap;
 public class UserController {
 
     private final UserService userService;
+    private final BulkImportService bulkImportService;
 
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
+    public ResponseEntity<List<?>> getAllUsers(@RequestParam(required = false) String fields, WebRequest request) {
+        if (ConditionalGet.notModified(request, userService.getUserListVersion())) {
+            return null;
+        }
+        if (fields != null) {
+            return ResponseEntity.ok(userService.getUserFields(fields));
+        }
         return ResponseEntity.ok(userService.getAllUsers());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
-        return userService.getUserById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<?> getUserById(@PathVariable Long id,
+                                         @RequestParam(required = false) String fields,
+                                         WebRequest request) {
+        Optional<User> user = userService.getUserById(id);
+        if (user.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (ConditionalGet.notModified(request, userService.getUserVersion(user.get()))) {
+            return null;
+        }
+        if (fields != null) {
+            return ResponseEntity.ok(userService.selectFields(user.get(), fields));
+        }
+        return ResponseEntity.ok(user.get());
     }
 
     @PostMapping
@@ -48,11 +73,26 @@ public class UserController {
         }
     }
 
+    // Accepts a JSON array or an NDJSON stream (one user per line)
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    public ResponseEntity<BulkImportResult> importUsers(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(bulkImportService.importUsers(request.getInputStream()));
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<User> updateUser(@PathVariable Long id, @Valid @RequestBody User user) {
+    public ResponseEntity<?> updateUser(@PathVariable Long id, @Valid @RequestBody User user) {
         try {
             User updatedUser = userService.updateUser(id, user);
             return ResponseEntity.ok(updatedUser);
+        } catch (jakarta.validation.ValidationException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        } catch (DataIntegrityViolationException e) {
+            // The unique natural key can still be violated when the transaction commits
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "User already registered");
+            return ResponseEntity.badRequest().body(error);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
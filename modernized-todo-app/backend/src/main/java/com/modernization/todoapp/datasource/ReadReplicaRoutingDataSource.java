@@ -0,0 +1,146 @@
+package com.modernization.todoapp.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out replica connections to read-only transactions and primary
+ * connections to everything else. Replicas are used round-robin, skipping
+ * ejected ones; a replica is ejected when it fails to give a connection or a
+ * health check, and re-admitted by the next health check that passes. With no
+ * healthy replica, reads go to the primary. A client inside its read-your-writes
+ * window (see {@link ReadYourWrites}) always reads from the primary.
+ *
+ * Must be wrapped in a LazyConnectionDataSourceProxy: the read-only flag of a
+ * transaction is only set after the transaction manager asks for a connection.
+ */
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryCounter;
+    private final int healthCheckTimeoutSeconds;
+
+    // Replicas by name, in rotation order
+    public ReadReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                        int healthCheckTimeoutSeconds, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.healthCheckTimeoutSeconds = healthCheckTimeoutSeconds;
+        this.primaryCounter = meterRegistry.counter("todo.datasource.connections", "target", "primary");
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource,
+                    meterRegistry.counter("todo.datasource.connections", "target", name));
+            Gauge.builder("todo.datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            this.replicas.add(replica);
+        });
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                ReadYourWrites.recordWrite();
+            }
+            return primaryConnection();
+        }
+        if (ReadYourWrites.isPinned()) {
+            return primaryConnection();
+        }
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replica.counter.increment();
+                return connection;
+            } catch (SQLException | RuntimeException e) {
+                // Hikari reports a failed pool start as a RuntimeException
+                eject(replica, e);
+            }
+        }
+        return primaryConnection();
+    }
+
+    // Explicit credentials are the primary's: the replica pools are set up with their own
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        primaryCounter.increment();
+        return primary.getConnection(username, password);
+    }
+
+    // Called periodically; ejects replicas that stopped answering and re-admits those that recovered
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (!connection.isValid(healthCheckTimeoutSeconds)) {
+                    throw new SQLException("Connection is not valid");
+                }
+                if (!replica.healthy) {
+                    replica.healthy = true;
+                    log.info("Replica {} is healthy again and back in rotation", replica.name);
+                }
+            } catch (SQLException | RuntimeException e) {
+                eject(replica, e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Connection primaryConnection() throws SQLException {
+        primaryCounter.increment();
+        return primary.getConnection();
+    }
+
+    private void eject(Replica replica, Exception e) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Replica {} ejected, reads fall back to the other replicas or the primary: {}",
+                    replica.name, e.getMessage());
+        }
+    }
+
+    private static final class Replica {
+
+        final String name;
+        final DataSource dataSource;
+        final Counter counter;
+        volatile boolean healthy = true;
+
+        Replica(String name, DataSource dataSource, Counter counter) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.counter = counter;
+        }
+    }
+}
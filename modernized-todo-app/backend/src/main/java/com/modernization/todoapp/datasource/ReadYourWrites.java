@@ -0,0 +1,47 @@
+package com.modernization.todoapp.datasource;
+
+/**
+ * Per-request state for read-your-writes: whether the request's client wrote
+ * recently and must read from the primary, and whether this request wrote.
+ * Set by ReadYourWritesFilter. Threads outside a request are never pinned.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<State> CURRENT = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    static void begin(boolean pinned) {
+        State state = new State();
+        state.pinned = pinned;
+        CURRENT.set(state);
+    }
+
+    // True when the request wrote; clears the state
+    static boolean end() {
+        State state = CURRENT.get();
+        CURRENT.remove();
+        return state != null && state.wrote;
+    }
+
+    static boolean isPinned() {
+        State state = CURRENT.get();
+        return state != null && state.pinned;
+    }
+
+    // Later reads in the same request also go to the primary
+    static void recordWrite() {
+        State state = CURRENT.get();
+        if (state != null) {
+            state.wrote = true;
+            state.pinned = true;
+        }
+    }
+
+    private static final class State {
+
+        boolean pinned;
+        boolean wrote;
+    }
+}
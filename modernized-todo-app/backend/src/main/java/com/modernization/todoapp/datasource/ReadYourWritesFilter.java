@@ -0,0 +1,47 @@
+package com.modernization.todoapp.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.modernization.todoapp.config.ClientKey;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Remembers clients whose request wrote to the primary, and for the following
+ * window sends their reads to the primary too, so they never read a replica
+ * that has not caught up with their own change. Clients are told apart by the
+ * X-Client-Id header, or by their address when it is missing (see {@link ClientKey}).
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String client = ClientKey.of(request);
+        ReadYourWrites.begin(recentWriters.getIfPresent(client) != null);
+        boolean wrote = false;
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            wrote = ReadYourWrites.end();
+        }
+        if (wrote) {
+            recentWriters.put(client, Boolean.TRUE);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.modernization.todoapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class BulkImportResult {
+
+    private int received;
+
+    private int imported;
+
+    private long elapsedMillis;
+
+    // Records that were rejected, identified by their position in the request
+    private List<RecordError> errors = new ArrayList<>();
+
+    public void addError(int index, String message) {
+        errors.add(new RecordError(index, message));
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RecordError {
+
+        private int index;
+
+        private String error;
+    }
+}
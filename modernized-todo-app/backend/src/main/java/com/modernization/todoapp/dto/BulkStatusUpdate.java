@@ -0,0 +1,23 @@
+package com.modernization.todoapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Target status plus the tasks to move: an id list, a filter, or both
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdate {
+
+    private String status;
+
+    private List<Long> ids;
+
+    private Long assigneeId;
+
+    // Only tasks currently in this status are moved
+    private String fromStatus;
+}
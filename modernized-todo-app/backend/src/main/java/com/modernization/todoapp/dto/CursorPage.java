@@ -0,0 +1,20 @@
+package com.modernization.todoapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> items;
+
+    // Opaque token for the next page, null when there are no more results
+    private String nextCursor;
+
+    private int size;
+}
@@ -0,0 +1,31 @@
+package com.modernization.todoapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Overdue and due-soon tasks, oldest deadline first
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadlineReport {
+
+    private LocalDate today;
+
+    private int dueSoonDays;
+
+    private long overdueCount;
+
+    private long dueSoonCount;
+
+    // Capped by the limit parameter; the counts are not
+    private List<TaskDeadline> overdue;
+
+    private List<TaskDeadline> dueSoon;
+
+    private LocalDateTime sweptAt;
+}
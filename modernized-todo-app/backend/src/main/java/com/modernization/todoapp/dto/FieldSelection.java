@@ -0,0 +1,81 @@
+package com.modernization.todoapp.dto;
+
+import jakarta.persistence.Tuple;
+import jakarta.validation.ValidationException;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parsed {@code fields=} parameter. Maps each requested property to the entity
+ * attribute it is read from, so only those columns are selected and only those
+ * properties are serialized. The id is always included.
+ */
+public class FieldSelection {
+
+    // property -> attribute path, in the order the client asked for them
+    private final Map<String, String> requested;
+
+    // Extra columns needed internally (e.g. the keyset sort value) but not returned
+    private final Map<String, String> hidden = new LinkedHashMap<>();
+
+    private FieldSelection(Map<String, String> requested) {
+        this.requested = requested;
+    }
+
+    // Ordered property -> attribute path map from alternating name/path pairs
+    public static Map<String, String> catalog(String... namesAndPaths) {
+        Map<String, String> catalog = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndPaths.length; i += 2) {
+            catalog.put(namesAndPaths[i], namesAndPaths[i + 1]);
+        }
+        return Collections.unmodifiableMap(catalog);
+    }
+
+    public static FieldSelection parse(String fields, Map<String, String> catalog) {
+        Map<String, String> requested = new LinkedHashMap<>();
+        requested.put("id", catalog.get("id"));
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            String path = catalog.get(name);
+            if (path == null) {
+                throw new ValidationException("Unknown field '" + name + "'. Allowed: " + String.join(",", catalog.keySet()));
+            }
+            requested.put(name, path);
+        }
+        return new FieldSelection(requested);
+    }
+
+    public void require(String name, String path) {
+        if (!requested.containsKey(name)) {
+            hidden.put(name, path);
+        }
+    }
+
+    // Every column to select, keyed by the alias it is read back with
+    public Map<String, String> getColumns() {
+        Map<String, String> columns = new LinkedHashMap<>(requested);
+        columns.putAll(hidden);
+        return Collections.unmodifiableMap(columns);
+    }
+
+    public Map<String, Object> toRow(Tuple tuple) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        requested.keySet().forEach(name -> row.put(name, tuple.get(name)));
+        return row;
+    }
+
+    // Same row built from an entity already in memory, e.g. from the cache
+    public Map<String, Object> toRow(Object entity) {
+        BeanWrapper wrapper = new BeanWrapperImpl(entity);
+        Map<String, Object> row = new LinkedHashMap<>();
+        requested.keySet().forEach(name -> row.put(name, wrapper.getPropertyValue(name)));
+        return row;
+    }
+}
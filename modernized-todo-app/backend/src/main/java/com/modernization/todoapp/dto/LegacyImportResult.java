@@ -0,0 +1,21 @@
+package com.modernization.todoapp.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class LegacyImportResult {
+
+    private BulkImportResult users;
+
+    private BulkImportResult tasks;
+
+    private long bytesRead;
+
+    private long elapsedMillis;
+
+    private double recordsPerSecond;
+
+    private double megabytesPerSecond;
+}
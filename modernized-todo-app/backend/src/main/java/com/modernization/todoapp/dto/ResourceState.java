@@ -0,0 +1,31 @@
+package com.modernization.todoapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregate fingerprint of a set of rows, read with a single query instead of
+ * loading them. An insert raises maxId, a delete lowers count, and every update
+ * bumps versionSum (and usually lastModified).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceState {
+
+    private Long count;
+
+    private Long maxId;
+
+    private Long versionSum;
+
+    private LocalDateTime lastModified;
+
+    @Override
+    public String toString() {
+        return count + ":" + maxId + ":" + versionSum + ":" + lastModified;
+    }
+}
@@ -0,0 +1,43 @@
+package com.modernization.todoapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Validators for a conditional GET. Users are serialized with an age derived
+ * from the current year, so the year is part of every tag and Last-Modified
+ * never goes back past January 1st. Collections carry no Last-Modified: a
+ * delete leaves no row to date, so only the tag (whose count drops) sees it.
+ */
+@Getter
+@AllArgsConstructor
+public class ResourceVersion {
+
+    private final String etag;
+
+    // Null for collections
+    private final LocalDateTime lastModified;
+
+    public static ResourceVersion of(String resource, ResourceState... states) {
+        LocalDate today = LocalDate.now();
+        String fingerprint = resource + "|" + today.getYear() + "|"
+                + Arrays.stream(states).map(String::valueOf).collect(Collectors.joining("|"));
+        LocalDateTime lastModified = Arrays.stream(states)
+                .map(ResourceState::getLastModified)
+                .filter(Objects::nonNull)
+                .reduce(today.withDayOfYear(1).atStartOfDay(), (a, b) -> a.isAfter(b) ? a : b);
+        return new ResourceVersion(DigestUtils.md5DigestAsHex(fingerprint.getBytes(StandardCharsets.UTF_8)), lastModified);
+    }
+
+    public static ResourceVersion ofCollection(String resource, ResourceState... states) {
+        return new ResourceVersion(of(resource, states).getEtag(), null);
+    }
+}
@@ -0,0 +1,60 @@
+package com.modernization.todoapp.dto;
+
+import jakarta.validation.ValidationException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position of the last task returned in a page. Encoded as an opaque
+ * URL-safe token so clients never build cursors themselves. Besides the id it
+ * carries the value of the sort column, if the page is not sorted by id.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskCursor {
+
+    private final Long id;
+    private final LocalDateTime updateDateTime;
+    private final LocalDate endDate;
+
+    public TaskCursor(Long id, LocalDateTime updateDateTime) {
+        this(id, updateDateTime, null);
+    }
+
+    public String encode() {
+        String raw = id.toString();
+        if (updateDateTime != null) {
+            raw += "|" + updateDateTime;
+        } else if (endDate != null) {
+            raw += "|" + endDate;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                return new TaskCursor(Long.valueOf(raw), null);
+            }
+            Long id = Long.valueOf(raw.substring(0, separator));
+            String value = raw.substring(separator + 1);
+            // Timestamps always contain a 'T', plain dates never do
+            return value.indexOf('T') >= 0
+                    ? new TaskCursor(id, LocalDateTime.parse(value), null)
+                    : new TaskCursor(id, null, LocalDate.parse(value));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.modernization.todoapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// An open task whose end date is past or within the due-soon window
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskDeadline {
+
+    private Long taskId;
+
+    private Long assigneeId;
+
+    private String status;
+
+    private LocalDate endDate;
+}
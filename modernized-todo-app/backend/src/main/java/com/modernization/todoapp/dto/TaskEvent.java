@@ -0,0 +1,34 @@
+package com.modernization.todoapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskEvent {
+
+    // BULK_STATUS_CHANGED has no taskId; assigneeId is only set when the bulk update was filtered by assignee.
+    // DUE_SOON and OVERDUE are published by TaskDeadlineService when a deadline is crossed.
+    public enum Type { CREATED, UPDATED, STATUS_CHANGED, BULK_STATUS_CHANGED, DELETED, DUE_SOON, OVERDUE }
+
+    // Assigned by TaskEventBroker when the change is committed; sent as the SSE id
+    private Long id;
+
+    private Type type;
+
+    private Long taskId;
+
+    private Long assigneeId;
+
+    private String status;
+
+    private LocalDateTime occurredAt;
+
+    public static TaskEvent of(Type type, Long taskId, Long assigneeId, String status) {
+        return new TaskEvent(null, type, taskId, assigneeId, status, LocalDateTime.now());
+    }
+}
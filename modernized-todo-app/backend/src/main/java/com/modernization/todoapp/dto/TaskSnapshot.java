@@ -0,0 +1,32 @@
+package com.modernization.todoapp.dto;
+
+import com.modernization.todoapp.model.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// The task columns the dashboard counters are keyed on
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSnapshot {
+
+    private String status;
+
+    private Integer priority;
+
+    private Long assigneeId;
+
+    private LocalDate endDate;
+
+    public static TaskSnapshot of(Task task) {
+        return new TaskSnapshot(task.getStatus(), task.getPriority(),
+                task.getAssignee() == null ? null : task.getAssignee().getId(), task.getEndDate());
+    }
+
+    public TaskSnapshot withStatus(String newStatus) {
+        return new TaskSnapshot(newStatus, priority, assigneeId, endDate);
+    }
+}
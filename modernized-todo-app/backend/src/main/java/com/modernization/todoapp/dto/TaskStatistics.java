@@ -0,0 +1,33 @@
+package com.modernization.todoapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatistics {
+
+    private long total;
+
+    private Map<String, Long> byStatus;
+
+    private Map<Integer, Long> byPriority;
+
+    private Map<Long, Long> byAssignee;
+
+    // Open tasks (status not in todo.tasks.closed-statuses) past their end date
+    private long overdue;
+
+    // Open tasks due between today and today + dueSoonDays
+    private long dueSoon;
+
+    private int dueSoonDays;
+
+    // When the counters were last rebuilt from the database
+    private LocalDateTime reconciledAt;
+}
@@ -0,0 +1,35 @@
+package com.modernization.todoapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row for task listings, selected column by column instead of
+ * loading the entity with both users.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSummary {
+
+    private Long id;
+
+    private String title;
+
+    private String status;
+
+    private Integer priority;
+
+    private LocalDate endDate;
+
+    private Long assigneeId;
+
+    private String assigneeName;
+
+    // Carried so summaries can be paged by updateDateTime as well
+    private LocalDateTime updateDateTime;
+}
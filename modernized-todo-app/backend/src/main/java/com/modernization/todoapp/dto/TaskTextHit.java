@@ -0,0 +1,17 @@
+package com.modernization.todoapp.dto;
+
+import com.modernization.todoapp.model.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One full-text match; hits are returned best score first
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskTextHit {
+
+    private Task task;
+
+    private double score;
+}
@@ -0,0 +1,35 @@
+package com.modernization.todoapp.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Parameters of POST /api/test/generate; every field has a default
+@Data
+@NoArgsConstructor
+public class TestDataRequest {
+
+    private int users = 1000;
+
+    private int tasksPerUser = 10;
+
+    // Tags are drawn from tag-0 .. tag-(tagVocabulary - 1)
+    private int tagVocabulary = 50;
+
+    private int tagsPerTask = 2;
+
+    // Relative weights, e.g. {"TODO": 50, "IN_PROGRESS": 30, "COMPLETED": 20}
+    private Map<String, Integer> statusWeights = new LinkedHashMap<>(Map.of("TODO", 50, "IN_PROGRESS", 30, "COMPLETED", 20));
+
+    private Map<Integer, Integer> priorityWeights = new LinkedHashMap<>(Map.of(1, 20, 2, 50, 3, 30));
+
+    // End dates are spread uniformly over today + [dueInDaysMin, dueInDaysMax]
+    private int dueInDaysMin = 0;
+
+    private int dueInDaysMax = 90;
+
+    // The same seed on an empty database yields the same rows
+    private long seed = 42L;
+}
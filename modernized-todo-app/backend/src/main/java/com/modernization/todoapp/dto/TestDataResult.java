@@ -0,0 +1,19 @@
+package com.modernization.todoapp.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class TestDataResult {
+
+    private long seed;
+
+    private BulkImportResult users;
+
+    private BulkImportResult tasks;
+
+    private long elapsedMillis;
+
+    private double rowsPerSecond;
+}
@@ -0,0 +1,22 @@
+package com.modernization.todoapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TextIndexStatus {
+
+    private int indexedTasks;
+
+    private int terms;
+
+    private boolean rebuilding;
+
+    // When the index currently served was built; null before the first build completes
+    private LocalDateTime builtAt;
+}
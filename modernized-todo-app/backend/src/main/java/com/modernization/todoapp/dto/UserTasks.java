@@ -0,0 +1,19 @@
+package com.modernization.todoapp.dto;
+
+import com.modernization.todoapp.model.Task;
+import com.modernization.todoapp.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTasks {
+
+    private User user;
+
+    private List<Task> tasks;
+}
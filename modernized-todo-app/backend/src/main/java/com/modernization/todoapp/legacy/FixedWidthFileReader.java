@@ -0,0 +1,75 @@
+package com.modernization.todoapp.legacy;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Walks a file of fixed-length records through memory-mapped windows, so files
+ * larger than 2 GB work and nothing is copied into per-line Strings. Records may
+ * be back to back or terminated by LF / CRLF; the terminator is detected from
+ * the first record.
+ */
+public class FixedWidthFileReader {
+
+    private static final long WINDOW_SIZE = 256L * 1024 * 1024;
+
+    private final Path path;
+    private final int recordLength;
+
+    public FixedWidthFileReader(Path path, int recordLength) {
+        this.path = path;
+        this.recordLength = recordLength;
+    }
+
+    @FunctionalInterface
+    public interface RecordVisitor {
+        // The record occupies buffer[offset, offset + recordLength)
+        void visit(MappedByteBuffer buffer, int offset, long recordNumber);
+    }
+
+    /**
+     * Returns the number of bytes consumed.
+     */
+    public long read(RecordVisitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                return 0;
+            }
+            int stride = recordLength + terminatorLength(channel, size);
+            long recordsPerWindow = Math.max(1, WINDOW_SIZE / stride);
+            long position = 0;
+            long recordNumber = 0;
+
+            while (size - position >= recordLength) {
+                long windowLength = Math.min(recordsPerWindow * stride, size - position);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowLength);
+                int offset = 0;
+                while (windowLength - offset >= recordLength) {
+                    visitor.visit(window, offset, recordNumber++);
+                    offset += stride;
+                }
+                position += Math.min(offset, windowLength);
+            }
+            return position;
+        }
+    }
+
+    private int terminatorLength(FileChannel channel, long size) throws IOException {
+        if (size <= recordLength) {
+            return 0;
+        }
+        MappedByteBuffer probe = channel.map(FileChannel.MapMode.READ_ONLY, recordLength, Math.min(2, size - recordLength));
+        byte first = probe.get(0);
+        if (first == '\n') {
+            return 1;
+        }
+        if (first == '\r') {
+            return probe.limit() > 1 && probe.get(1) == '\n' ? 2 : 1;
+        }
+        return 0;
+    }
+}
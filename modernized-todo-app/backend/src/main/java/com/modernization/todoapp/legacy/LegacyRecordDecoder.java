@@ -0,0 +1,115 @@
+package com.modernization.todoapp.legacy;
+
+import com.modernization.todoapp.model.Task;
+import com.modernization.todoapp.model.User;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Decodes the USERS-ENTRY and TASKS-ENTRY layouts of cobol-todo/todoapp.cbl
+ * straight from the mapped buffer. Numeric PIC 9 fields are parsed digit by
+ * digit; only text fields that end up on the entity allocate a String.
+ * Not thread-safe: the scratch buffer is reused between fields.
+ */
+public class LegacyRecordDecoder {
+
+    // USERS-ENTRY: ID 9(4), FIRST-NAME X(30), LAST-NAME X(100), BIRTH-DATE 9(8)
+    public static final int USER_RECORD_LENGTH = 4 + 30 + 100 + 8;
+
+    // TASKS-ENTRY: ID 9(4), TITLE X(100), DESCRIPTION X(1000), END-DATE 9(8), CREATOR-ID 9(4),
+    // ASSIGNEE-ID 9(4), TAGS X(100), PRIORITY 9(1), STATUS X(10), CREATION-DT 9(14), UPDATE-DT 9(14)
+    public static final int TASK_RECORD_LENGTH = 4 + 100 + 1000 + 8 + 4 + 4 + 100 + 1 + 10 + 14 + 14;
+
+    private final Charset charset;
+    private final byte[] scratch = new byte[1000];
+
+    public LegacyRecordDecoder(Charset charset) {
+        this.charset = charset;
+    }
+
+    public int userId(ByteBuffer buffer, int offset) {
+        return (int) number(buffer, offset, 4);
+    }
+
+    public User user(ByteBuffer buffer, int offset) {
+        return User.builder()
+                .firstName(text(buffer, offset + 4, 30))
+                .lastName(text(buffer, offset + 34, 100))
+                .birthDate(date(buffer, offset + 134))
+                .build();
+    }
+
+    public int taskCreatorId(ByteBuffer buffer, int offset) {
+        return (int) number(buffer, offset + 1112, 4);
+    }
+
+    public int taskAssigneeId(ByteBuffer buffer, int offset) {
+        return (int) number(buffer, offset + 1116, 4);
+    }
+
+    // Creator and assignee are left for the caller, which maps the legacy ids
+    public Task task(ByteBuffer buffer, int offset) {
+        return Task.builder()
+                .title(text(buffer, offset + 4, 100))
+                .description(text(buffer, offset + 104, 1000))
+                .endDate(date(buffer, offset + 1104))
+                .tags(text(buffer, offset + 1120, 100))
+                .priority((int) number(buffer, offset + 1220, 1))
+                .status(text(buffer, offset + 1221, 10))
+                .creationDateTime(timestamp(buffer, offset + 1231))
+                .updateDateTime(timestamp(buffer, offset + 1245))
+                .build();
+    }
+
+    private long number(ByteBuffer buffer, int offset, int length) {
+        long value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            byte b = buffer.get(i);
+            if (b == ' ') {
+                b = '0';
+            }
+            if (b < '0' || b > '9') {
+                throw new IllegalArgumentException("Non-numeric byte at position " + (i - offset) + " of a PIC 9 field");
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    // PIC X fields are space padded; returns null for an all-blank field
+    private String text(ByteBuffer buffer, int offset, int length) {
+        int end = offset + length;
+        while (end > offset && (buffer.get(end - 1) == ' ' || buffer.get(end - 1) == 0)) {
+            end--;
+        }
+        if (end == offset) {
+            return null;
+        }
+        buffer.get(offset, scratch, 0, end - offset);
+        return new String(scratch, 0, end - offset, charset);
+    }
+
+    // YYYYMMDD, all zeros means no date
+    private LocalDate date(ByteBuffer buffer, int offset) {
+        long value = number(buffer, offset, 8);
+        if (value == 0) {
+            return null;
+        }
+        return LocalDate.of((int) (value / 10000), (int) (value / 100 % 100), (int) (value % 100));
+    }
+
+    // YYYYMMDDHHMMSS, all zeros means no timestamp
+    private LocalDateTime timestamp(ByteBuffer buffer, int offset) {
+        long value = number(buffer, offset, 14);
+        if (value == 0) {
+            return null;
+        }
+        long date = value / 1000000;
+        long time = value % 1000000;
+        return LocalDateTime.of((int) (date / 10000), (int) (date / 100 % 100), (int) (date % 100),
+                (int) (time / 10000), (int) (time / 100 % 100), (int) (time % 100));
+    }
+}
@@ -1,17 +1,30 @@
 package com.modernization.todoapp.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_assignee_status", columnList = "assignee_id, status"),
+        @Index(name = "idx_tasks_status_end_date", columnList = "status, endDate"),
+        @Index(name = "idx_tasks_priority_end_date", columnList = "priority, endDate"),
+        @Index(name = "idx_tasks_end_date", columnList = "endDate")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,7 +32,8 @@ import java.time.LocalDateTime;
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -34,11 +48,11 @@ public class Task {
     @NotNull
     private LocalDate endDate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "creator_id", nullable = false)
     private User creator;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assignee_id", nullable = false)
     private User assignee;
 
@@ -46,6 +60,18 @@ public class Task {
     @Column(length = 100)
     private String tags;
 
+    // Normalized copy of tags, one indexed row per tag, used for tag lookups
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Builder.Default
+    @ElementCollection
+    @CollectionTable(name = "task_tags",
+            joinColumns = @JoinColumn(name = "task_id"),
+            indexes = @Index(name = "idx_task_tags_tag", columnList = "tag"))
+    @Column(name = "tag", length = 100)
+    private Set<String> normalizedTags = new HashSet<>();
+
     @Min(1)
     @Max(3)
     private Integer priority;
@@ -58,14 +84,47 @@ public class Task {
 
     private LocalDateTime updateDateTime;
 
+    // Rows created before the column existed start at 0
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
-        creationDateTime = LocalDateTime.now();
-        updateDateTime = LocalDateTime.now();
+        // Imports may carry the original timestamps
+        if (creationDateTime == null) {
+            creationDateTime = LocalDateTime.now();
+        }
+        if (updateDateTime == null) {
+            updateDateTime = creationDateTime;
+        }
     }
 
     @PreUpdate
     protected void onUpdate() {
         updateDateTime = LocalDateTime.now();
     }
+
+    public void indexTags() {
+        Set<String> parsed = parseTags(tags);
+        if (normalizedTags == null) {
+            normalizedTags = new HashSet<>();
+        }
+        normalizedTags.retainAll(parsed);
+        normalizedTags.addAll(parsed);
+    }
+
+    public static String normalizeTag(String tag) {
+        return tag.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static Set<String> parseTags(String tags) {
+        if (tags == null || tags.isBlank()) {
+            return new HashSet<>();
+        }
+        return Arrays.stream(tags.split(","))
+                .map(Task::normalizeTag)
+                .filter(tag -> !tag.isEmpty())
+                .collect(Collectors.toSet());
+    }
 }
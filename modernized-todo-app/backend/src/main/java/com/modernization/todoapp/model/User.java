@@ -1,5 +1,7 @@
 package com.modernization.todoapp.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -11,17 +13,21 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = @UniqueConstraint(name = "uk_users_natural_key", columnNames = "natural_key"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "user_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -38,9 +44,39 @@ public class User {
     @Past
     @Column(nullable = false)
     private LocalDate birthDate;
+
+    // Case-folded first name + last name + birth date, unique per user
+    @JsonIgnore
+    @Column(name = "natural_key", length = 150)
+    private String naturalKey;
+
+    // Rows created before the column existed start at 0
+    @JsonIgnore
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    private Long version;
+
+    // Feeds Last-Modified of the user and of the tasks that embed it
+    @JsonIgnore
+    private LocalDateTime updateDateTime;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        naturalKey = naturalKeyOf(firstName, lastName, birthDate);
+        updateDateTime = LocalDateTime.now();
+    }
+
+    public static String naturalKeyOf(String firstName, String lastName, LocalDate birthDate) {
+        return firstName.toLowerCase(Locale.ROOT) + "|" + lastName.toLowerCase(Locale.ROOT) + "|" + birthDate;
+    }
     
     @Transient
     public int getAge() {
+        return ageOf(birthDate);
+    }
+
+    public static int ageOf(LocalDate birthDate) {
         if (birthDate == null) {
             return 0;
         }
@@ -1,20 +1,78 @@
 package com.modernization.todoapp.repository;
 
+import com.modernization.todoapp.dto.ResourceState;
+import com.modernization.todoapp.dto.TaskDeadline;
+import com.modernization.todoapp.dto.TaskSnapshot;
+import com.modernization.todoapp.dto.TaskSummary;
 import com.modernization.todoapp.model.Task;
 import com.modernization.todoapp.model.User;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskSearchRepository {
+
+    String SUMMARY_SELECT = "SELECT new com.modernization.todoapp.dto.TaskSummary(t.id, t.title, t.status, " +
+            "t.priority, t.endDate, a.id, CONCAT(a.firstName, ' ', a.lastName), t.updateDateTime) " +
+            "FROM Task t JOIN t.assignee a ";
+
+    String STATE_SELECT = "SELECT new com.modernization.todoapp.dto.ResourceState(COUNT(t), MAX(t.id), " +
+            "SUM(t.version), MAX(t.updateDateTime)) FROM Task t ";
+
+    // creator and assignee are lazy; full-entity reads fetch them in the same join
+    @Override
+    @EntityGraph(attributePaths = {"creator", "assignee"})
+    List<Task> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"creator", "assignee"})
+    Optional<Task> findById(Long id);
     
     // Find tasks assigned to a specific user
+    @EntityGraph(attributePaths = {"creator", "assignee"})
     List<Task> findByAssignee(User assignee);
     
-    // Find tasks by tag (using LIKE operator for partial matches)
-    List<Task> findByTagsContaining(String tag);
+    // Find tasks carrying an exact (normalized) tag through the task_tags index
+    @EntityGraph(attributePaths = {"creator", "assignee"})
+    @Query("SELECT t FROM Task t WHERE :tag MEMBER OF t.normalizedTags ORDER BY t.id ASC")
+    List<Task> findByTag(@Param("tag") String tag);
+
+    // Find tasks carrying at least one of the given tags
+    @EntityGraph(attributePaths = {"creator", "assignee"})
+    @Query("SELECT t FROM Task t WHERE t.id IN " +
+           "(SELECT tt.id FROM Task tt JOIN tt.normalizedTags g WHERE g IN :tags) " +
+           "ORDER BY t.id ASC")
+    List<Task> findByAnyTag(@Param("tags") Collection<String> tags);
+
+    // Find tasks carrying every one of the given tags
+    @EntityGraph(attributePaths = {"creator", "assignee"})
+    @Query("SELECT t FROM Task t WHERE t.id IN " +
+           "(SELECT tt.id FROM Task tt JOIN tt.normalizedTags g WHERE g IN :tags " +
+           " GROUP BY tt.id HAVING COUNT(g) = :tagCount) " +
+           "ORDER BY t.id ASC")
+    List<Task> findByAllTags(@Param("tags") Collection<String> tags, @Param("tagCount") long tagCount);
+
+    // Tasks whose tags column was written before the task_tags index existed
+    @Query("SELECT t FROM Task t WHERE t.tags IS NOT NULL AND t.tags <> '' " +
+           "AND t.normalizedTags IS EMPTY AND t.id > :afterId ORDER BY t.id ASC")
+    List<Task> findUnindexedTags(@Param("afterId") Long afterId, Pageable pageable);
     
     // Find tasks by priority
     List<Task> findByPriority(Integer priority);
@@ -24,4 +82,161 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     
     // Find tasks by creator
     List<Task> findByCreator(User creator);
+
+    // Tasks of several assignees in one round trip, users fetched in the same join
+    @EntityGraph(attributePaths = {"creator", "assignee"})
+    List<Task> findByAssigneeIdInOrderByIdAsc(Collection<Long> assigneeIds);
+
+    // Every task with its users fetched in the same join
+    @EntityGraph(attributePaths = {"creator", "assignee"})
+    List<Task> findAllByOrderByIdAsc();
+
+    // Keyset page ordered by id; null filters and cursor are ignored
+    @EntityGraph(attributePaths = {"creator", "assignee"})
+    @Query("SELECT t FROM Task t " +
+           "WHERE (:assigneeId IS NULL OR t.assignee.id = :assigneeId) " +
+           "AND (:tag IS NULL OR :tag MEMBER OF t.normalizedTags) " +
+           "AND (:afterId IS NULL OR t.id > :afterId) " +
+           "ORDER BY t.id ASC")
+    List<Task> findPageOrderById(@Param("assigneeId") Long assigneeId,
+                                 @Param("tag") String tag,
+                                 @Param("afterId") Long afterId,
+                                 Pageable pageable);
+
+    // Keyset page ordered by most recently updated first, id breaks ties
+    @EntityGraph(attributePaths = {"creator", "assignee"})
+    @Query("SELECT t FROM Task t " +
+           "WHERE (:assigneeId IS NULL OR t.assignee.id = :assigneeId) " +
+           "AND (:tag IS NULL OR :tag MEMBER OF t.normalizedTags) " +
+           "AND (:afterUpdate IS NULL OR t.updateDateTime < :afterUpdate " +
+           "     OR (t.updateDateTime = :afterUpdate AND t.id < :afterId)) " +
+           "ORDER BY t.updateDateTime DESC, t.id DESC")
+    List<Task> findPageOrderByUpdateDateTime(@Param("assigneeId") Long assigneeId,
+                                             @Param("tag") String tag,
+                                             @Param("afterUpdate") LocalDateTime afterUpdate,
+                                             @Param("afterId") Long afterId,
+                                             Pageable pageable);
+
+    // Summary projections of the two keyset pages above
+    @Query(SUMMARY_SELECT +
+           "WHERE (:assigneeId IS NULL OR a.id = :assigneeId) " +
+           "AND (:tag IS NULL OR :tag MEMBER OF t.normalizedTags) " +
+           "AND (:afterId IS NULL OR t.id > :afterId) " +
+           "ORDER BY t.id ASC")
+    List<TaskSummary> findSummaryPageOrderById(@Param("assigneeId") Long assigneeId,
+                                               @Param("tag") String tag,
+                                               @Param("afterId") Long afterId,
+                                               Pageable pageable);
+
+    @Query(SUMMARY_SELECT +
+           "WHERE (:assigneeId IS NULL OR a.id = :assigneeId) " +
+           "AND (:tag IS NULL OR :tag MEMBER OF t.normalizedTags) " +
+           "AND (:afterUpdate IS NULL OR t.updateDateTime < :afterUpdate " +
+           "     OR (t.updateDateTime = :afterUpdate AND t.id < :afterId)) " +
+           "ORDER BY t.updateDateTime DESC, t.id DESC")
+    List<TaskSummary> findSummaryPageOrderByUpdateDateTime(@Param("assigneeId") Long assigneeId,
+                                                           @Param("tag") String tag,
+                                                           @Param("afterUpdate") LocalDateTime afterUpdate,
+                                                           @Param("afterId") Long afterId,
+                                                           Pageable pageable);
+
+    // Open tasks by deadline range, for TaskDeadlineService; both use idx_tasks_end_date
+    @Query("SELECT new com.modernization.todoapp.dto.TaskDeadline(t.id, t.assignee.id, t.status, t.endDate) " +
+           "FROM Task t WHERE t.endDate <= :until AND t.status NOT IN :closedStatuses")
+    List<TaskDeadline> findOpenDueUntil(@Param("until") LocalDate until,
+                                        @Param("closedStatuses") Collection<String> closedStatuses);
+
+    @Query("SELECT new com.modernization.todoapp.dto.TaskDeadline(t.id, t.assignee.id, t.status, t.endDate) " +
+           "FROM Task t WHERE t.endDate > :after AND t.endDate <= :until AND t.status NOT IN :closedStatuses")
+    List<TaskDeadline> findOpenDueBetween(@Param("after") LocalDate after,
+                                          @Param("until") LocalDate until,
+                                          @Param("closedStatuses") Collection<String> closedStatuses);
+
+    // Tasks of a full-text result, users fetched in the same join; callers restore the ranking
+    @EntityGraph(attributePaths = {"creator", "assignee"})
+    List<Task> findByIdIn(Collection<Long> ids);
+
+    // id, title, description of every task, read through a cursor to build the full-text index
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t.id, t.title, t.description FROM Task t")
+    Stream<Object[]> streamText();
+
+    // Server-side cursor over the whole result, used by the streaming endpoints
+    @EntityGraph(attributePaths = {"creator", "assignee"})
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Task t " +
+           "WHERE (:assigneeId IS NULL OR t.assignee.id = :assigneeId) " +
+           "AND (:tag IS NULL OR :tag MEMBER OF t.normalizedTags) " +
+           "ORDER BY t.id ASC")
+    Stream<Task> streamFiltered(@Param("assigneeId") Long assigneeId, @Param("tag") String tag);
+
+    // Existence check for the direct status update; reads a few columns, no joins
+    @Query("SELECT new com.modernization.todoapp.dto.TaskSnapshot(t.status, t.priority, t.assignee.id, t.endDate) " +
+           "FROM Task t WHERE t.id = :id")
+    Optional<TaskSnapshot> findSnapshotById(@Param("id") Long id);
+
+    // Single-statement transition; a null version skips the optimistic check
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :status, t.updateDateTime = :now, t.version = t.version + 1 " +
+           "WHERE t.id = :id AND (:version IS NULL OR t.version = :version)")
+    int updateStatus(@Param("id") Long id,
+                     @Param("status") String status,
+                     @Param("version") Long version,
+                     @Param("now") LocalDateTime now);
+
+    // Bulk transitions; fromStatus guards against moving tasks another writer already moved
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :status, t.updateDateTime = :now, t.version = t.version + 1 " +
+           "WHERE t.id IN :ids " +
+           "AND (:assigneeId IS NULL OR t.assignee.id = :assigneeId) " +
+           "AND (:fromStatus IS NULL OR t.status = :fromStatus)")
+    int updateStatusByIds(@Param("ids") Collection<Long> ids,
+                          @Param("assigneeId") Long assigneeId,
+                          @Param("fromStatus") String fromStatus,
+                          @Param("status") String status,
+                          @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :status, t.updateDateTime = :now, t.version = t.version + 1 " +
+           "WHERE (:assigneeId IS NULL OR t.assignee.id = :assigneeId) " +
+           "AND (:fromStatus IS NULL OR t.status = :fromStatus)")
+    int updateStatusWhere(@Param("assigneeId") Long assigneeId,
+                          @Param("fromStatus") String fromStatus,
+                          @Param("status") String status,
+                          @Param("now") LocalDateTime now);
+
+    // Aggregates used to rebuild the dashboard counters
+    @Query("SELECT t.status, COUNT(t) FROM Task t GROUP BY t.status")
+    List<Object[]> countByStatus();
+
+    @Query("SELECT t.priority, COUNT(t) FROM Task t WHERE t.priority IS NOT NULL GROUP BY t.priority")
+    List<Object[]> countByPriority();
+
+    @Query("SELECT t.assignee.id, COUNT(t) FROM Task t GROUP BY t.assignee.id")
+    List<Object[]> countByAssignee();
+
+    @Query("SELECT t.endDate, COUNT(t) FROM Task t " +
+           "WHERE t.endDate IS NOT NULL AND t.status NOT IN :closedStatuses GROUP BY t.endDate")
+    List<Object[]> countOpenByEndDate(@Param("closedStatuses") Collection<String> closedStatuses);
+
+    // Validators for conditional GETs, see ResourceVersion
+    @Query(STATE_SELECT + "WHERE t.id = :id")
+    ResourceState findStateById(@Param("id") Long id);
+
+    @Query(STATE_SELECT +
+           "WHERE (:assigneeId IS NULL OR t.assignee.id = :assigneeId) " +
+           "AND (:tag IS NULL OR :tag MEMBER OF t.normalizedTags)")
+    ResourceState findState(@Param("assigneeId") Long assigneeId, @Param("tag") String tag);
+
+    // State of the creator and assignee embedded in one task
+    @Query("SELECT new com.modernization.todoapp.dto.ResourceState(COUNT(u), MAX(u.id), SUM(u.version), " +
+           "MAX(u.updateDateTime)) FROM Task t, User u " +
+           "WHERE t.id = :id AND (u.id = t.creator.id OR u.id = t.assignee.id)")
+    ResourceState findUserStateByTaskId(@Param("id") Long id);
 }
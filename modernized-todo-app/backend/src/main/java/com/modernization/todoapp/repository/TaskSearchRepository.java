@@ -0,0 +1,18 @@
+package com.modernization.todoapp.repository;
+
+import com.modernization.todoapp.model.Task;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+
+// Specification query with a row limit and no count query, for keyset pages
+public interface TaskSearchRepository {
+
+    List<Task> findPage(Specification<Task> spec, Sort sort, int limit);
+
+    // Only the given columns (alias -> attribute path), for fields= requests; limit 0 means unpaged
+    List<Tuple> findColumns(Specification<Task> spec, Sort sort, int limit, Map<String, String> columns);
+}
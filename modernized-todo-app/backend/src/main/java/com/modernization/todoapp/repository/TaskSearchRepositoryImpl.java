@@ -0,0 +1,46 @@
+package com.modernization.todoapp.repository;
+
+import com.modernization.todoapp.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+class TaskSearchRepositoryImpl implements TaskSearchRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Task> findPage(Specification<Task> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Task> query = cb.createQuery(Task.class);
+        Root<Task> root = query.from(Task.class);
+        // Same eager shape as the other list queries
+        root.fetch("creator");
+        root.fetch("assignee");
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Tuple> findColumns(Specification<Task> spec, Sort sort, int limit, Map<String, String> columns) {
+        return ColumnQueries.select(entityManager, Task.class, spec, sort, limit, columns);
+    }
+}
@@ -0,0 +1,85 @@
+package com.modernization.todoapp.repository;
+
+import com.modernization.todoapp.dto.TaskCursor;
+import com.modernization.todoapp.model.Task;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Building blocks for the task search. Each factory returns null for an
+ * absent value, which {@link Specification#and} skips.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> hasId(Long id) {
+        return (root, query, cb) -> cb.equal(root.get("id"), id);
+    }
+
+    public static Specification<Task> statusIn(Collection<String> statuses) {
+        return statuses == null || statuses.isEmpty() ? null
+                : (root, query, cb) -> root.get("status").in(statuses);
+    }
+
+    public static Specification<Task> priorityIn(Collection<Integer> priorities) {
+        return priorities == null || priorities.isEmpty() ? null
+                : (root, query, cb) -> root.get("priority").in(priorities);
+    }
+
+    public static Specification<Task> assignedTo(Long userId) {
+        return userId == null ? null
+                : (root, query, cb) -> cb.equal(root.get("assignee").get("id"), userId);
+    }
+
+    public static Specification<Task> createdBy(Long userId) {
+        return userId == null ? null
+                : (root, query, cb) -> cb.equal(root.get("creator").get("id"), userId);
+    }
+
+    public static Specification<Task> dueOnOrAfter(LocalDate date) {
+        return date == null ? null
+                : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("endDate"), date);
+    }
+
+    public static Specification<Task> dueOnOrBefore(LocalDate date) {
+        return date == null ? null
+                : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("endDate"), date);
+    }
+
+    // Expects a tag already normalized with Task.normalizeTag
+    public static Specification<Task> taggedWith(String tag) {
+        return tag == null ? null
+                : (root, query, cb) -> cb.isMember(tag, root.get("normalizedTags"));
+    }
+
+    // Keyset conditions matching the orderings used by the search
+    public static Specification<Task> afterId(TaskCursor cursor) {
+        return cursor == null ? null
+                : (root, query, cb) -> cb.greaterThan(root.get("id"), cursor.getId());
+    }
+
+    public static Specification<Task> beforeUpdate(TaskCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        LocalDateTime updated = cursor.getUpdateDateTime();
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("updateDateTime"), updated),
+                cb.and(cb.equal(root.get("updateDateTime"), updated), cb.lessThan(root.get("id"), cursor.getId())));
+    }
+
+    public static Specification<Task> afterDue(TaskCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        LocalDate due = cursor.getEndDate();
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("endDate"), due),
+                cb.and(cb.equal(root.get("endDate"), due), cb.greaterThan(root.get("id"), cursor.getId())));
+    }
+}
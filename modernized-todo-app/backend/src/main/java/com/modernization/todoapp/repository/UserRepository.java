@@ -1,11 +1,48 @@
 package com.modernization.todoapp.repository;
 
+import com.modernization.todoapp.dto.ResourceState;
 import com.modernization.todoapp.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserSearchRepository {
     // Spring Data JPA will automatically implement basic CRUD operations
     // We can add custom query methods as needed
+
+    // Duplicate check through the unique natural_key index
+    boolean existsByNaturalKey(String naturalKey);
+
+    boolean existsByNaturalKeyAndIdNot(String naturalKey, Long id);
+
+    // Set-based variants used by the bulk import
+    @Query("SELECT u.naturalKey FROM User u WHERE u.naturalKey IN :naturalKeys")
+    Set<String> findExistingNaturalKeys(@Param("naturalKeys") Collection<String> naturalKeys);
+
+    List<User> findByNaturalKeyIn(Collection<String> naturalKeys);
+
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Fills natural_key for users saved before the column existed
+    @Modifying
+    @Query("UPDATE User u SET u.naturalKey = CONCAT(LOWER(u.firstName), '|', LOWER(u.lastName), '|', " +
+           "CAST(u.birthDate AS String)) WHERE u.naturalKey IS NULL")
+    int backfillNaturalKeys();
+
+    // Keyset page of users ordered by id
+    List<User> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    // Validator for conditional GETs of user lists, see ResourceVersion
+    @Query("SELECT new com.modernization.todoapp.dto.ResourceState(COUNT(u), MAX(u.id), SUM(u.version), " +
+           "MAX(u.updateDateTime)) FROM User u")
+    ResourceState findState();
 }
@@ -0,0 +1,15 @@
+package com.modernization.todoapp.repository;
+
+import com.modernization.todoapp.model.User;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+
+// Column-limited user reads for fields= requests
+public interface UserSearchRepository {
+
+    List<Tuple> findColumns(Specification<User> spec, Sort sort, int limit, Map<String, String> columns);
+}
@@ -0,0 +1,22 @@
+package com.modernization.todoapp.repository;
+
+import com.modernization.todoapp.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+class UserSearchRepositoryImpl implements UserSearchRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Tuple> findColumns(Specification<User> spec, Sort sort, int limit, Map<String, String> columns) {
+        return ColumnQueries.select(entityManager, User.class, spec, sort, limit, columns);
+    }
+}
@@ -0,0 +1,101 @@
+package com.modernization.todoapp.service;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.modernization.todoapp.dto.BulkImportResult;
+import com.modernization.todoapp.model.Task;
+import com.modernization.todoapp.model.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a JSON array or NDJSON stream record by record and hands fixed-size
+ * chunks to the entity services, one transaction per chunk. A failing chunk
+ * is reported record by record and does not stop the import.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkImportService {
+
+    private final ObjectMapper objectMapper;
+    private final TaskService taskService;
+    private final UserService userService;
+
+    @Value("${todo.bulk.chunk-size:1000}")
+    private int chunkSize;
+
+    public BulkImportResult importTasks(InputStream input) throws IOException {
+        return importRecords(input, Task.class, taskService::importTaskChunk);
+    }
+
+    public BulkImportResult importUsers(InputStream input) throws IOException {
+        return importRecords(input, User.class, userService::importUserChunk);
+    }
+
+    private <T> BulkImportResult importRecords(InputStream input, Class<T> type, ChunkImporter<T> importer)
+            throws IOException {
+        long start = System.currentTimeMillis();
+        BulkImportResult result = new BulkImportResult();
+        List<T> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+
+        // A root level array is unwrapped by the iterator, so JSON arrays and NDJSON read the same way
+        try (MappingIterator<T> records = objectMapper.readerFor(type).readValues(input)) {
+            while (records.hasNextValue()) {
+                T record;
+                try {
+                    record = records.nextValue();
+                } catch (JsonMappingException e) {
+                    // Well-formed JSON that does not bind (e.g. a bad date): skip just this record
+                    flushChunk(chunk, index - chunk.size(), result, importer);
+                    result.addError(index++, "Invalid record: " + e.getOriginalMessage());
+                    continue;
+                }
+                chunk.add(record);
+                index++;
+                if (chunk.size() == chunkSize) {
+                    flushChunk(chunk, index - chunk.size(), result, importer);
+                }
+            }
+        } catch (IOException e) {
+            // Broken JSON syntax: the stream position is lost, keep what was read so far
+            result.addError(index, "Malformed input: " + e.getMessage());
+        }
+        flushChunk(chunk, index - chunk.size(), result, importer);
+
+        result.setReceived(index);
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        log.info("Bulk import of {} finished: {} received, {} imported in {} ms",
+                type.getSimpleName(), result.getReceived(), result.getImported(), result.getElapsedMillis());
+        return result;
+    }
+
+    private <T> void flushChunk(List<T> chunk, int offset, BulkImportResult result, ChunkImporter<T> importer) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            importer.importChunk(chunk, offset, result);
+        } catch (RuntimeException e) {
+            log.warn("Bulk import chunk at offset {} rolled back: {}", offset, e.getMessage());
+            for (int i = 0; i < chunk.size(); i++) {
+                result.addError(offset + i, "Chunk rolled back: " + e.getMessage());
+            }
+        }
+        chunk.clear();
+    }
+
+    @FunctionalInterface
+    private interface ChunkImporter<T> {
+        void importChunk(List<T> chunk, int offset, BulkImportResult result);
+    }
+}
@@ -0,0 +1,259 @@
+package com.modernization.todoapp.service;
+
+import com.modernization.todoapp.dto.BulkImportResult;
+import com.modernization.todoapp.dto.LegacyImportResult;
+import com.modernization.todoapp.legacy.FixedWidthFileReader;
+import com.modernization.todoapp.legacy.LegacyRecordDecoder;
+import com.modernization.todoapp.model.Task;
+import com.modernization.todoapp.model.User;
+import com.modernization.todoapp.repository.UserRepository;
+import jakarta.validation.ValidationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Loads the nightly USERS / TASKS fixed-width extracts produced by the COBOL
+ * application. Files are read through memory-mapped windows, records are decoded
+ * straight from the buffer, and chunks are persisted by a bounded pool of workers
+ * through the same chunk importers used by the bulk endpoints.
+ */
+@Service
+@Lazy
+@RequiredArgsConstructor
+@Slf4j
+public class LegacyImportService {
+
+    private static final long PROGRESS_INTERVAL = 100_000;
+
+    private final TaskService taskService;
+    private final UserService userService;
+    private final UserRepository userRepository;
+
+    @Value("${todo.legacy-import.directory:./legacy-extracts}")
+    private String directory;
+
+    @Value("${todo.legacy-import.charset:ISO-8859-1}")
+    private String charset;
+
+    @Value("${todo.legacy-import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${todo.legacy-import.workers:4}")
+    private int workers;
+
+    @Value("${todo.legacy-import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public LegacyImportResult importExtracts(String usersFile, String tasksFile) throws IOException {
+        Path usersPath = resolve(usersFile);
+        Path tasksPath = resolve(tasksFile);
+        LegacyRecordDecoder decoder = new LegacyRecordDecoder(Charset.forName(charset));
+        long start = System.currentTimeMillis();
+
+        // Users first: tasks refer to them by their legacy id
+        Map<Integer, User> usersByLegacyId = new HashMap<>();
+        // A rolled-back chunk keeps the ids drawn from the sequence; clear them so that
+        // resolveUserIds only maps tasks to users that were committed
+        ChunkWriter<User> userWriter = new ChunkWriter<>("users", userService::importUserChunk,
+                chunk -> chunk.forEach(user -> user.setId(null)));
+        long userBytes = new FixedWidthFileReader(usersPath, LegacyRecordDecoder.USER_RECORD_LENGTH)
+                .read((buffer, offset, recordNumber) -> {
+                    try {
+                        User user = decoder.user(buffer, offset);
+                        usersByLegacyId.put(decoder.userId(buffer, offset), user);
+                        userWriter.add(user, recordNumber);
+                    } catch (RuntimeException e) {
+                        userWriter.reject(recordNumber, e.getMessage());
+                    }
+                });
+        BulkImportResult users = userWriter.finish();
+        Map<Integer, Long> userIds = resolveUserIds(usersByLegacyId);
+
+        ChunkWriter<Task> taskWriter = new ChunkWriter<>("tasks", taskService::importLegacyTaskChunk, chunk -> { });
+        long taskBytes = new FixedWidthFileReader(tasksPath, LegacyRecordDecoder.TASK_RECORD_LENGTH)
+                .read((buffer, offset, recordNumber) -> {
+                    try {
+                        Task task = decoder.task(buffer, offset);
+                        task.setCreator(User.builder().id(userIds.get(decoder.taskCreatorId(buffer, offset))).build());
+                        task.setAssignee(User.builder().id(userIds.get(decoder.taskAssigneeId(buffer, offset))).build());
+                        taskWriter.add(task, recordNumber);
+                    } catch (RuntimeException e) {
+                        taskWriter.reject(recordNumber, e.getMessage());
+                    }
+                });
+        BulkImportResult tasks = taskWriter.finish();
+
+        LegacyImportResult result = new LegacyImportResult();
+        result.setUsers(users);
+        result.setTasks(tasks);
+        result.setBytesRead(userBytes + taskBytes);
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        double seconds = Math.max(result.getElapsedMillis(), 1) / 1000.0;
+        result.setRecordsPerSecond((users.getReceived() + tasks.getReceived()) / seconds);
+        result.setMegabytesPerSecond(result.getBytesRead() / (1024.0 * 1024.0) / seconds);
+        log.info("Legacy import finished: {} users, {} tasks, {} bytes in {} ms ({} records/s)",
+                users.getImported(), tasks.getImported(), result.getBytesRead(), result.getElapsedMillis(),
+                Math.round(result.getRecordsPerSecond()));
+        return result;
+    }
+
+    // Users rejected as already registered (e.g. re-sent by a later extract) are found by natural key
+    private Map<Integer, Long> resolveUserIds(Map<Integer, User> usersByLegacyId) {
+        Map<Integer, Long> ids = new HashMap<>();
+        Map<String, Integer> pending = new HashMap<>();
+        usersByLegacyId.forEach((legacyId, user) -> {
+            if (user.getId() != null) {
+                ids.put(legacyId, user.getId());
+            } else if (user.getFirstName() != null && user.getLastName() != null && user.getBirthDate() != null) {
+                pending.put(User.naturalKeyOf(user.getFirstName(), user.getLastName(), user.getBirthDate()), legacyId);
+            }
+        });
+        List<String> keys = new ArrayList<>(pending.keySet());
+        for (int from = 0; from < keys.size(); from += chunkSize) {
+            List<String> batch = keys.subList(from, Math.min(from + chunkSize, keys.size()));
+            for (User existing : userRepository.findByNaturalKeyIn(batch)) {
+                ids.put(pending.get(existing.getNaturalKey()), existing.getId());
+            }
+        }
+        return ids;
+    }
+
+    private Path resolve(String fileName) {
+        Path base = Paths.get(directory).toAbsolutePath().normalize();
+        Path file = base.resolve(fileName).normalize();
+        if (!file.startsWith(base)) {
+            throw new ValidationException("File must be inside the legacy import directory");
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new ValidationException("File not found: " + fileName);
+        }
+        return file;
+    }
+
+    @FunctionalInterface
+    private interface ChunkImporter<T> {
+        void importChunk(List<T> chunk, int offset, BulkImportResult result);
+    }
+
+    /**
+     * Groups decoded records into chunks and persists them on a fixed pool of workers.
+     * A semaphore bounds the chunks in flight so the reader cannot run ahead of the
+     * database and fill the heap.
+     */
+    private class ChunkWriter<T> {
+
+        private final String name;
+        private final ChunkImporter<T> importer;
+        private final Consumer<List<T>> onRollback;
+        private final ExecutorService executor = Executors.newFixedThreadPool(workers);
+        private final Semaphore inFlight = new Semaphore(workers * 2);
+        private final BulkImportResult result = new BulkImportResult();
+        private final AtomicLong received = new AtomicLong();
+        private final long start = System.currentTimeMillis();
+        private List<T> chunk = new ArrayList<>(chunkSize);
+        private long chunkStart;
+
+        ChunkWriter(String name, ChunkImporter<T> importer, Consumer<List<T>> onRollback) {
+            this.name = name;
+            this.importer = importer;
+            this.onRollback = onRollback;
+        }
+
+        void add(T record, long recordNumber) {
+            if (chunk.isEmpty()) {
+                chunkStart = recordNumber;
+            }
+            chunk.add(record);
+            count();
+            if (chunk.size() == chunkSize) {
+                submit();
+            }
+        }
+
+        // Decoding failures break the run of record numbers, so close the current chunk first
+        void reject(long recordNumber, String error) {
+            submit();
+            count();
+            merge(0, List.of(new BulkImportResult.RecordError((int) recordNumber, "Invalid record: " + error)));
+        }
+
+        BulkImportResult finish() {
+            submit();
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(1, TimeUnit.DAYS)) {
+                    throw new IllegalStateException("Legacy import of " + name + " did not finish");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Legacy import of " + name + " interrupted", e);
+            }
+            result.setReceived((int) received.get());
+            result.setElapsedMillis(System.currentTimeMillis() - start);
+            return result;
+        }
+
+        private void count() {
+            long total = received.incrementAndGet();
+            if (total % PROGRESS_INTERVAL == 0) {
+                long elapsed = Math.max(System.currentTimeMillis() - start, 1);
+                log.info("Legacy import of {}: {} records read ({} records/s)", name, total, total * 1000 / elapsed);
+            }
+        }
+
+        private void submit() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<T> records = chunk;
+            int offset = (int) chunkStart;
+            chunk = new ArrayList<>(chunkSize);
+            inFlight.acquireUninterruptibly();
+            executor.execute(() -> {
+                try {
+                    BulkImportResult partial = new BulkImportResult();
+                    importer.importChunk(records, offset, partial);
+                    merge(partial.getImported(), partial.getErrors());
+                } catch (RuntimeException e) {
+                    log.warn("Legacy import of {}: chunk at record {} rolled back: {}", name, offset, e.getMessage());
+                    onRollback.accept(records);
+                    List<BulkImportResult.RecordError> errors = new ArrayList<>(records.size());
+                    for (int i = 0; i < records.size(); i++) {
+                        errors.add(new BulkImportResult.RecordError(offset + i, "Chunk rolled back: " + e.getMessage()));
+                    }
+                    merge(0, errors);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+
+        // Counts every import, but keeps only the first errors to bound the response size
+        private synchronized void merge(int imported, List<BulkImportResult.RecordError> errors) {
+            result.setImported(result.getImported() + imported);
+            int room = maxReportedErrors - result.getErrors().size();
+            if (room > 0) {
+                result.getErrors().addAll(errors.subList(0, Math.min(room, errors.size())));
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.modernization.todoapp.service;
+
+import com.modernization.todoapp.dto.DeadlineReport;
+import com.modernization.todoapp.dto.TaskDeadline;
+import com.modernization.todoapp.dto.TaskEvent;
+import com.modernization.todoapp.dto.TaskSnapshot;
+import com.modernization.todoapp.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Tracks open tasks whose end date is past or within the due-soon window, in
+ * memory and ordered by end date. Seeded with one range query on end_date.
+ * After that, each day the sweeper only reads the tasks whose deadline
+ * entered the window since the last tick. Tasks that became overdue are
+ * already in memory. Both transitions are published as task events.
+ * Single-task writes update the view in place; bulk changes mark it stale and
+ * the next sweep reseeds it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskDeadlineService {
+
+    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // end date -> task id -> deadline, and the same entries by id; guarded by this
+    private final NavigableMap<LocalDate, Map<Long, TaskDeadline>> byEndDate = new TreeMap<>();
+    private final Map<Long, TaskDeadline> byId = new HashMap<>();
+
+    // Day of the last sweep; null until the first seed
+    private LocalDate today;
+    private LocalDateTime sweptAt;
+    private volatile boolean stale = true;
+
+    @Value("${todo.tasks.closed-statuses:COMPLETED}")
+    private Set<String> closedStatuses;
+
+    @Value("${todo.tasks.due-soon-days:3}")
+    private int dueSoonDays;
+
+    public void recordChange(Long taskId, TaskSnapshot after) {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                remove(taskId);
+                if (after != null && isTracked(after.getStatus(), after.getEndDate())) {
+                    add(new TaskDeadline(taskId, after.getAssigneeId(), after.getStatus(), after.getEndDate()));
+                }
+            }
+        });
+    }
+
+    public void markStale() {
+        AfterCommit.run(() -> stale = true);
+    }
+
+    public DeadlineReport getReport(Long assigneeId, int limit) {
+        sweep();
+        synchronized (this) {
+            List<TaskDeadline> overdue = new ArrayList<>();
+            List<TaskDeadline> dueSoon = new ArrayList<>();
+            long overdueCount = collect(byEndDate.headMap(today, false), assigneeId, limit, overdue);
+            long dueSoonCount = collect(byEndDate.tailMap(today, true), assigneeId, limit, dueSoon);
+            return new DeadlineReport(today, dueSoonDays, overdueCount, dueSoonCount, overdue, dueSoon, sweptAt);
+        }
+    }
+
+    // A no-op within the same day unless the view went stale
+    @Scheduled(initialDelayString = "${todo.deadlines.sweep-ms:60000}", fixedDelayString = "${todo.deadlines.sweep-ms:60000}")
+    public void sweep() {
+        List<TaskEvent> events = new ArrayList<>();
+        synchronized (this) {
+            LocalDate now = LocalDate.now();
+            if (stale || today == null) {
+                LocalDate previous = today;
+                reseed(now);
+                if (previous != null && now.isAfter(previous)) {
+                    reportCrossed(previous, now, events);
+                }
+            } else if (now.isAfter(today)) {
+                advance(now, events);
+            }
+        }
+        // Outside the lock: subscribers are notified synchronously
+        events.forEach(eventPublisher::publishEvent);
+    }
+
+    private void reseed(LocalDate now) {
+        long started = System.currentTimeMillis();
+        stale = false;
+        byEndDate.clear();
+        byId.clear();
+        taskRepository.findOpenDueUntil(now.plusDays(dueSoonDays), closedStatuses).forEach(this::add);
+        today = now;
+        sweptAt = LocalDateTime.now();
+        log.debug("Deadline view seeded with {} tasks in {} ms", byId.size(), System.currentTimeMillis() - started);
+    }
+
+    private void advance(LocalDate now, List<TaskEvent> events) {
+        // Tracked tasks that were due soon and are now past their date
+        byEndDate.subMap(today, true, now, false).values()
+                .forEach(tasks -> tasks.values().forEach(task -> events.add(event(TaskEvent.Type.OVERDUE, task))));
+        // Tasks whose deadline entered the window; if several days passed some are already overdue
+        List<TaskDeadline> entered = taskRepository.findOpenDueBetween(
+                today.plusDays(dueSoonDays), now.plusDays(dueSoonDays), closedStatuses);
+        for (TaskDeadline task : entered) {
+            add(task);
+            events.add(event(task.getEndDate().isBefore(now) ? TaskEvent.Type.OVERDUE : TaskEvent.Type.DUE_SOON, task));
+        }
+        today = now;
+        sweptAt = LocalDateTime.now();
+        log.debug("Deadline sweep: {} tasks entered the window, {} events", entered.size(), events.size());
+    }
+
+    // The transitions advance() would have published, for a reseed that also crossed days:
+    // tasks past their date since the previous sweep and tasks that entered the window since
+    private void reportCrossed(LocalDate previous, LocalDate now, List<TaskEvent> events) {
+        LocalDate windowEnd = previous.plusDays(dueSoonDays);
+        byEndDate.tailMap(previous, true).values().forEach(tasks -> tasks.values().forEach(task -> {
+            if (task.getEndDate().isBefore(now)) {
+                events.add(event(TaskEvent.Type.OVERDUE, task));
+            } else if (task.getEndDate().isAfter(windowEnd)) {
+                events.add(event(TaskEvent.Type.DUE_SOON, task));
+            }
+        }));
+        log.debug("Deadline reseed crossed from {} to {}: {} events", previous, now, events.size());
+    }
+
+    private boolean isTracked(String status, LocalDate endDate) {
+        return today != null && endDate != null && !closedStatuses.contains(status)
+                && !endDate.isAfter(today.plusDays(dueSoonDays));
+    }
+
+    private void add(TaskDeadline task) {
+        byId.put(task.getTaskId(), task);
+        byEndDate.computeIfAbsent(task.getEndDate(), k -> new LinkedHashMap<>()).put(task.getTaskId(), task);
+    }
+
+    private void remove(Long taskId) {
+        TaskDeadline task = byId.remove(taskId);
+        if (task == null) {
+            return;
+        }
+        Map<Long, TaskDeadline> tasks = byEndDate.get(task.getEndDate());
+        tasks.remove(taskId);
+        if (tasks.isEmpty()) {
+            byEndDate.remove(task.getEndDate());
+        }
+    }
+
+    private long collect(NavigableMap<LocalDate, Map<Long, TaskDeadline>> range, Long assigneeId, int limit,
+                         List<TaskDeadline> into) {
+        Stream<TaskDeadline> tasks = range.values().stream().map(Map::values).flatMap(Collection::stream);
+        if (assigneeId != null) {
+            tasks = tasks.filter(task -> assigneeId.equals(task.getAssigneeId()));
+        }
+        long count = 0;
+        for (TaskDeadline task : (Iterable<TaskDeadline>) tasks::iterator) {
+            if (count++ < limit) {
+                into.add(task);
+            }
+        }
+        return count;
+    }
+
+    private TaskEvent event(TaskEvent.Type type, TaskDeadline task) {
+        return TaskEvent.of(type, task.getTaskId(), task.getAssigneeId(), task.getStatus());
+    }
+}
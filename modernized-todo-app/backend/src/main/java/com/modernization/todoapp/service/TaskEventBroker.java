@@ -0,0 +1,194 @@
+package com.modernization.todoapp.service;
+
+import com.modernization.todoapp.dto.TaskEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans committed task changes out to Server-Sent Events subscribers.
+ * Writers only append to a bounded per-subscriber queue; a small pool drains
+ * the queues to the sockets. A subscriber whose queue fills up is dropped
+ * instead of slowing down the request that changed the task. Recent events
+ * are kept so a client can resume from its Last-Event-ID.
+ */
+@Service
+@Slf4j
+public class TaskEventBroker {
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Deque<TaskEvent> history = new ArrayDeque<>();
+    private final ExecutorService senders = Executors.newFixedThreadPool(2);
+    private long lastEventId;
+
+    @Value("${todo.events.history-size:10000}")
+    private int historySize;
+
+    @Value("${todo.events.subscriber-buffer:1000}")
+    private int subscriberBuffer;
+
+    @Value("${todo.events.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    public SseEmitter subscribe(Long assigneeId, String status, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, assigneeId, status);
+        emitter.onCompletion(subscriber::discard);
+        emitter.onTimeout(subscriber::discard);
+        emitter.onError(e -> subscriber.discard());
+
+        synchronized (this) {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+        }
+        // The replay may have overflowed the queue, or the client gone away, before the add
+        if (subscriber.closed) {
+            subscribers.remove(subscriber);
+        }
+        subscriber.schedule();
+        return emitter;
+    }
+
+    // Deadline events are published outside any transaction, hence the fallback
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskEvent(TaskEvent event) {
+        synchronized (this) {
+            event.setId(++lastEventId);
+            history.addLast(event);
+            if (history.size() > historySize) {
+                history.removeFirst();
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.accepts(event)) {
+                    subscriber.offer(SseEmitter.event()
+                            .id(event.getId().toString())
+                            .name("task")
+                            .data(event, MediaType.APPLICATION_JSON));
+                }
+            }
+        }
+        subscribers.forEach(Subscriber::schedule);
+    }
+
+    // Keeps idle connections open through proxies and detects closed clients
+    @Scheduled(fixedDelayString = "${todo.events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(SseEmitter.event().comment("heartbeat"));
+            subscriber.schedule();
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    private void replay(Subscriber subscriber, long lastSeenId) {
+        TaskEvent oldest = history.peekFirst();
+        if (oldest != null && oldest.getId() > lastSeenId + 1) {
+            // Events were already discarded: tell the client to reload instead of resuming
+            subscriber.offer(SseEmitter.event().name("reset").data("history truncated"));
+            return;
+        }
+        for (TaskEvent event : history) {
+            if (event.getId() > lastSeenId && subscriber.accepts(event)) {
+                subscriber.offer(SseEmitter.event()
+                        .id(event.getId().toString())
+                        .name("task")
+                        .data(event, MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+
+    private class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Long assigneeId;
+        private final String status;
+        private final Queue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, Long assigneeId, String status) {
+            this.emitter = emitter;
+            this.assigneeId = assigneeId;
+            this.status = status;
+            this.queue = new ArrayBlockingQueue<>(subscriberBuffer);
+        }
+
+        boolean accepts(TaskEvent event) {
+            // A bulk change without an assignee filter may touch any assignee's tasks
+            boolean anyAssignee = event.getType() == TaskEvent.Type.BULK_STATUS_CHANGED && event.getAssigneeId() == null;
+            return (assigneeId == null || anyAssignee || assigneeId.equals(event.getAssigneeId()))
+                    && (status == null || status.equalsIgnoreCase(event.getStatus()));
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                log.warn("Dropping slow task event subscriber after {} buffered events", subscriberBuffer);
+                close();
+            }
+        }
+
+        void schedule() {
+            if (!closed && !queue.isEmpty() && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = queue.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+            } finally {
+                draining.set(false);
+            }
+            // An event may have been queued after the last poll
+            schedule();
+        }
+
+        // closed is set before the removal, so subscribe() sees it if the add comes last
+        void discard() {
+            closed = true;
+            subscribers.remove(this);
+        }
+
+        private void close() {
+            discard();
+            queue.clear();
+            emitter.complete();
+        }
+    }
+}
@@ -1,25 +1,90 @@
 package com.modernization.todoapp.service;
 
+import com.modernization.todoapp.config.MetricsConfig;
+import com.modernization.todoapp.dto.BulkImportResult;
+import com.modernization.todoapp.dto.BulkStatusResult;
+import com.modernization.todoapp.dto.BulkStatusUpdate;
+import com.modernization.todoapp.dto.CursorPage;
+import com.modernization.todoapp.dto.FieldSelection;
+import com.modernization.todoapp.dto.ResourceState;
+import com.modernization.todoapp.dto.ResourceVersion;
+import com.modernization.todoapp.dto.TaskCursor;
+import com.modernization.todoapp.dto.TaskEvent;
+import com.modernization.todoapp.dto.TaskFilter;
+import com.modernization.todoapp.dto.TaskSnapshot;
+import com.modernization.todoapp.dto.TaskSummary;
+import com.modernization.todoapp.dto.TaskTextHit;
+import com.modernization.todoapp.dto.UserTasks;
 import com.modernization.todoapp.model.Task;
 import com.modernization.todoapp.model.User;
 import com.modernization.todoapp.repository.TaskRepository;
+import com.modernization.todoapp.repository.TaskSpecifications;
 import com.modernization.todoapp.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
 import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class TaskService {
 
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final UserService userService;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskStatisticsService statisticsService;
+    private final TaskTextIndex textIndex;
+    private final TaskDeadlineService deadlineService;
+
+    // Properties selectable with fields=; creator and assignee are exposed by id only
+    private static final Map<String, String> TASK_FIELDS = FieldSelection.catalog(
+            "id", "id",
+            "title", "title",
+            "description", "description",
+            "status", "status",
+            "priority", "priority",
+            "endDate", "endDate",
+            "tags", "tags",
+            "creatorId", "creator.id",
+            "assigneeId", "assignee.id",
+            "creationDateTime", "creationDateTime",
+            "updateDateTime", "updateDateTime",
+            "version", "version");
+
+    @Value("${todo.pagination.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${todo.pagination.max-page-size:500}")
+    private int maxPageSize;
 
     @Transactional(readOnly = true)
     public List<Task> getAllTasks() {
@@ -31,9 +96,30 @@ public class TaskService {
         return taskRepository.findById(id);
     }
 
+    // Validators for GET /api/tasks/{id}; empty when the task does not exist.
+    // Read before the body so a concurrent change can only make the tag older than
+    // the body it goes with, never newer.
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getTaskVersion(Long id) {
+        ResourceState task = taskRepository.findStateById(id);
+        if (task.getCount() == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(ResourceVersion.of("task:" + id, task, taskRepository.findUserStateByTaskId(id)));
+    }
+
+    // One validator for every list view and page over the same filter. Tasks embed
+    // their users, so any user change also counts.
+    @Transactional(readOnly = true)
+    public ResourceVersion getTaskListVersion(Long assigneeId, String tag) {
+        String normalizedTag = tag == null ? null : Task.normalizeTag(tag);
+        return ResourceVersion.ofCollection("tasks:" + assigneeId + ":" + normalizedTag,
+                taskRepository.findState(assigneeId, normalizedTag), userRepository.findState());
+    }
+
     @Transactional(readOnly = true)
     public List<Task> getTasksByAssignee(Long userId) {
-        Optional<User> assignee = userRepository.findById(userId);
+        Optional<User> assignee = userService.getUserById(userId);
         if (assignee.isEmpty()) {
             return List.of();
         }
@@ -42,7 +128,172 @@ public class TaskService {
 
     @Transactional(readOnly = true)
     public List<Task> getTasksByTag(String tag) {
-        return taskRepository.findByTagsContaining(tag);
+        return taskRepository.findByTag(Task.normalizeTag(tag));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Task> getTasksByTags(Collection<String> tags, boolean matchAll) {
+        Set<String> normalized = tags.stream()
+                .map(Task::normalizeTag)
+                .filter(tag -> !tag.isEmpty())
+                .collect(Collectors.toSet());
+        if (normalized.isEmpty()) {
+            throw new ValidationException("At least one tag must be informed");
+        }
+        return matchAll
+                ? taskRepository.findByAllTags(normalized, normalized.size())
+                : taskRepository.findByAnyTag(normalized);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Task> getTaskPage(Long assigneeId, String tag, String cursor, Integer size, String sort) {
+        int pageSize = pageSize(size);
+        TaskCursor after = TaskCursor.decode(cursor);
+        tag = tag == null ? null : Task.normalizeTag(tag);
+        PageRequest limit = PageRequest.ofSize(pageSize);
+
+        List<Task> tasks;
+        boolean byUpdate = isUpdateSort(sort);
+        if (byUpdate) {
+            tasks = taskRepository.findPageOrderByUpdateDateTime(assigneeId, tag,
+                    after == null ? null : after.getUpdateDateTime(),
+                    after == null ? null : after.getId(),
+                    limit);
+        } else {
+            tasks = taskRepository.findPageOrderById(assigneeId, tag,
+                    after == null ? null : after.getId(),
+                    limit);
+        }
+
+        String nextCursor = null;
+        if (tasks.size() == pageSize) {
+            Task last = tasks.get(tasks.size() - 1);
+            nextCursor = new TaskCursor(last.getId(), byUpdate ? last.getUpdateDateTime() : null).encode();
+        }
+        return new CursorPage<>(tasks, nextCursor, tasks.size());
+    }
+
+    // Combines the optional filters with AND and pages by keyset on id, updated or due date
+    @Transactional(readOnly = true)
+    public CursorPage<Task> searchTasks(TaskFilter filter, String cursor, Integer size, String sort) {
+        int pageSize = pageSize(size);
+        String sortKey = searchSortKey(sort);
+        TaskCursor after = TaskCursor.decode(cursor);
+        List<Task> tasks = taskRepository.findPage(searchSpec(filter, sortKey, after), searchOrder(sortKey), pageSize);
+
+        String nextCursor = null;
+        if (tasks.size() == pageSize) {
+            Task last = tasks.get(tasks.size() - 1);
+            nextCursor = searchCursor(sortKey, last.getId(), last.getUpdateDateTime(), last.getEndDate());
+        }
+        return new CursorPage<>(tasks, nextCursor, tasks.size());
+    }
+
+    // Same search, selecting only the requested columns (fields=title,status,...)
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> searchTaskFields(TaskFilter filter, String cursor, Integer size, String sort,
+                                                            String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, TASK_FIELDS);
+        int pageSize = pageSize(size);
+        String sortKey = searchSortKey(sort);
+        TaskCursor after = TaskCursor.decode(cursor);
+        // The next cursor needs the sort value even when it was not asked for
+        if ("updated".equals(sortKey)) {
+            selection.require("updateDateTime", "updateDateTime");
+        } else if ("due".equals(sortKey)) {
+            selection.require("endDate", "endDate");
+        }
+        List<Tuple> rows = taskRepository.findColumns(searchSpec(filter, sortKey, after), searchOrder(sortKey),
+                pageSize, selection.getColumns());
+
+        String nextCursor = null;
+        if (rows.size() == pageSize) {
+            Tuple last = rows.get(rows.size() - 1);
+            nextCursor = searchCursor(sortKey, last.get("id", Long.class),
+                    "updated".equals(sortKey) ? last.get("updateDateTime", LocalDateTime.class) : null,
+                    "due".equals(sortKey) ? last.get("endDate", LocalDate.class) : null);
+        }
+        return new CursorPage<>(rows.stream().map(selection::toRow).toList(), nextCursor, rows.size());
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getTaskFields(TaskFilter filter, String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, TASK_FIELDS);
+        return taskRepository.findColumns(searchSpec(filter, "id", null), Sort.by("id"), 0, selection.getColumns())
+                .stream()
+                .map(selection::toRow)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> getTaskFieldsById(Long id, String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, TASK_FIELDS);
+        return taskRepository.findColumns(TaskSpecifications.hasId(id), Sort.unsorted(), 1, selection.getColumns())
+                .stream()
+                .findFirst()
+                .map(selection::toRow);
+    }
+
+    // Ranked by the in-memory index, then loaded in one query
+    @Transactional(readOnly = true)
+    public List<TaskTextHit> searchText(String query, Integer limit) {
+        Map<Long, Double> scores = textIndex.search(query, limit);
+        if (scores.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Task> tasks = taskRepository.findByIdIn(scores.keySet()).stream()
+                .collect(Collectors.toMap(Task::getId, task -> task));
+        // A task deleted after the lookup is skipped
+        return scores.entrySet().stream()
+                .filter(entry -> tasks.containsKey(entry.getKey()))
+                .map(entry -> new TaskTextHit(tasks.get(entry.getKey()), entry.getValue()))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskSummary> getTaskSummaries(Long assigneeId, String tag) {
+        return taskRepository.findSummaryPageOrderById(assigneeId, tag == null ? null : Task.normalizeTag(tag),
+                null, Pageable.unpaged());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<TaskSummary> getTaskSummaryPage(Long assigneeId, String tag, String cursor, Integer size, String sort) {
+        int pageSize = pageSize(size);
+        TaskCursor after = TaskCursor.decode(cursor);
+        tag = tag == null ? null : Task.normalizeTag(tag);
+        PageRequest limit = PageRequest.ofSize(pageSize);
+
+        List<TaskSummary> summaries;
+        boolean byUpdate = isUpdateSort(sort);
+        if (byUpdate) {
+            summaries = taskRepository.findSummaryPageOrderByUpdateDateTime(assigneeId, tag,
+                    after == null ? null : after.getUpdateDateTime(),
+                    after == null ? null : after.getId(),
+                    limit);
+        } else {
+            summaries = taskRepository.findSummaryPageOrderById(assigneeId, tag,
+                    after == null ? null : after.getId(),
+                    limit);
+        }
+
+        String nextCursor = null;
+        if (summaries.size() == pageSize) {
+            TaskSummary last = summaries.get(summaries.size() - 1);
+            nextCursor = new TaskCursor(last.getId(), byUpdate ? last.getUpdateDateTime() : null).encode();
+        }
+        return new CursorPage<>(summaries, nextCursor, summaries.size());
+    }
+
+    @Transactional(readOnly = true)
+    public void streamTasks(Long assigneeId, String tag, Consumer<Task> consumer) {
+        String normalizedTag = tag == null ? null : Task.normalizeTag(tag);
+        try (Stream<Task> tasks = taskRepository.streamFiltered(assigneeId, normalizedTag)) {
+            tasks.forEach(task -> {
+                consumer.accept(task);
+                // Keep the persistence context flat while walking the cursor
+                entityManager.detach(task);
+            });
+        }
     }
 
     @Transactional(readOnly = true)
@@ -50,67 +301,126 @@ public class TaskService {
         return userRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public List<UserTasks> getTasksGroupedByAssignee() {
+        List<User> users = userRepository.findAll(Sort.by("id"));
+        return groupByAssignee(users, taskRepository.findAllByOrderByIdAsc());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<UserTasks> getTasksGroupedByAssigneePage(String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        List<User> users = userRepository.findByIdGreaterThanOrderByIdAsc(parseUserCursor(cursor),
+                PageRequest.ofSize(pageSize));
+        List<Long> userIds = users.stream().map(User::getId).toList();
+        List<Task> tasks = userIds.isEmpty() ? List.of() : taskRepository.findByAssigneeIdInOrderByIdAsc(userIds);
+
+        String nextCursor = users.size() == pageSize ? users.get(users.size() - 1).getId().toString() : null;
+        return new CursorPage<>(groupByAssignee(users, tasks), nextCursor, users.size());
+    }
+
     @Transactional
     public Task createTask(Task task) {
         validateTask(task);
+        task.setCreator(managedUser(task.getCreator()));
+        task.setAssignee(managedUser(task.getAssignee()));
         task.setCreationDateTime(LocalDateTime.now());
         task.setUpdateDateTime(LocalDateTime.now());
-        return taskRepository.save(task);
+        task.indexTags();
+        Task saved = taskRepository.save(task);
+        statisticsService.recordChange(null, TaskSnapshot.of(saved));
+        deadlineService.recordChange(saved.getId(), TaskSnapshot.of(saved));
+        textIndex.recordChange(saved.getId(), saved.getTitle(), saved.getDescription());
+        publish(TaskEvent.Type.CREATED, saved);
+        return saved;
     }
 
     @Transactional
     public Task updateTask(Long id, Task taskDetails) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
+        checkVersion(task, taskDetails.getVersion());
+        TaskSnapshot before = TaskSnapshot.of(task);
 
-        // Update task fields
-        if (taskDetails.getTitle() != null && !taskDetails.getTitle().trim().isEmpty()) {
-            task.setTitle(taskDetails.getTitle());
-        }
-        
-        if (taskDetails.getDescription() != null) {
-            task.setDescription(taskDetails.getDescription());
-        }
-        
-        if (taskDetails.getEndDate() != null) {
-            task.setEndDate(taskDetails.getEndDate());
-        }
-        
-        if (taskDetails.getTags() != null) {
-            task.setTags(taskDetails.getTags());
-        }
-        
-        if (taskDetails.getPriority() != null) {
-            task.setPriority(taskDetails.getPriority());
-        }
-        
-        if (taskDetails.getStatus() != null && !taskDetails.getStatus().trim().isEmpty()) {
-            task.setStatus(taskDetails.getStatus());
-        }
-        
-        if (taskDetails.getAssignee() != null) {
-            task.setAssignee(taskDetails.getAssignee());
-        }
-
-        if (taskDetails.getCreator() != null) {
-            task.setCreator(taskDetails.getCreator());
-        }
-
+        applyChanges(task, taskDetails, this::managedUser);
         task.setUpdateDateTime(LocalDateTime.now());
         validateTask(task);
+        task.indexTags();
         
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        statisticsService.recordChange(before, TaskSnapshot.of(saved));
+        deadlineService.recordChange(saved.getId(), TaskSnapshot.of(saved));
+        textIndex.recordChange(saved.getId(), saved.getTitle(), saved.getDescription());
+        publish(TaskEvent.Type.UPDATED, saved);
+        return saved;
     }
 
+    // Coalesced changes from TaskWriteBuffer, applied in one transaction so the row
+    // updates go out as a JDBC batch. Returns the ids that no longer exist. Not validated
+    // again: the buffer checked each change when it acknowledged it, and the date rule
+    // would reject it once the end date passed before the flush.
     @Transactional
-    public Task updateTaskStatus(Long id, String status) {
-        Task task = taskRepository.findById(id)
+    public Set<Long> applyBufferedUpdates(Map<Long, Task> changesById) {
+        Map<Long, Task> tasks = taskRepository.findAllById(changesById.keySet()).stream()
+                .collect(Collectors.toMap(Task::getId, task -> task));
+        Set<Long> missing = new HashSet<>(changesById.keySet());
+        missing.removeAll(tasks.keySet());
+        changesById.forEach((id, changes) -> {
+            Task task = tasks.get(id);
+            if (task == null) {
+                return;
+            }
+            TaskSnapshot before = TaskSnapshot.of(task);
+            applyChanges(task, changes, this::managedUser);
+            task.setUpdateDateTime(LocalDateTime.now());
+            // Only touch the tag collection when the tags changed
+            if (changes.getTags() != null) {
+                task.indexTags();
+            }
+            statisticsService.recordChange(before, TaskSnapshot.of(task));
+            deadlineService.recordChange(id, TaskSnapshot.of(task));
+            textIndex.recordChange(id, task.getTitle(), task.getDescription());
+            publish(TaskEvent.Type.UPDATED, task);
+        });
+        return missing;
+    }
+
+    // One UPDATE instead of load + full-row save. The lookup before it reads a few
+    // columns without joins; it tells a missing task (404) from a stale version (409)
+    // and feeds the change event and the dashboard counters.
+    @Transactional
+    public void updateTaskStatus(Long id, String status, Long version) {
+        validateStatus(status);
+        TaskSnapshot before = taskRepository.findSnapshotById(id)
                 .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
-        
-        task.setStatus(status);
-        task.setUpdateDateTime(LocalDateTime.now());
-        
-        return taskRepository.save(task);
+        if (taskRepository.updateStatus(id, status, version, LocalDateTime.now()) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Task.class, id);
+        }
+        statisticsService.recordChange(before, before.withStatus(status));
+        deadlineService.recordChange(id, before.withStatus(status));
+        eventPublisher.publishEvent(TaskEvent.of(TaskEvent.Type.STATUS_CHANGED, id, before.getAssigneeId(), status));
+    }
+
+    @Transactional
+    public BulkStatusResult updateTaskStatuses(BulkStatusUpdate request) {
+        validateStatus(request.getStatus());
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (!byIds && request.getAssigneeId() == null && request.getFromStatus() == null) {
+            throw new ValidationException("Provide ids, assigneeId or fromStatus");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int updated = byIds
+                ? taskRepository.updateStatusByIds(request.getIds(), request.getAssigneeId(),
+                        request.getFromStatus(), request.getStatus(), now)
+                : taskRepository.updateStatusWhere(request.getAssigneeId(), request.getFromStatus(),
+                        request.getStatus(), now);
+        if (updated > 0) {
+            statisticsService.markStale();
+            deadlineService.markStale();
+            eventPublisher.publishEvent(TaskEvent.of(TaskEvent.Type.BULK_STATUS_CHANGED, null,
+                    request.getAssigneeId(), request.getStatus()));
+        }
+        return new BulkStatusResult(request.getStatus(), updated);
     }
 
     @Transactional
@@ -118,9 +428,245 @@ public class TaskService {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
         taskRepository.delete(task);
+        statisticsService.recordChange(TaskSnapshot.of(task), null);
+        deadlineService.recordChange(id, null);
+        textIndex.recordDelete(id);
+        publish(TaskEvent.Type.DELETED, task);
+    }
+
+    // Persists one chunk of a bulk import in its own transaction. Invalid records are
+    // reported by their position in the request; the rest are inserted in JDBC batches.
+    // Errors are only merged into the result once the chunk is committed.
+    @Transactional
+    public void importTaskChunk(List<Task> tasks, int offset, BulkImportResult result) {
+        importChunk(tasks, offset, result, false);
+    }
+
+    // Same as importTaskChunk for the COBOL extracts, whose history has end dates in the past
+    @Transactional
+    public void importLegacyTaskChunk(List<Task> tasks, int offset, BulkImportResult result) {
+        importChunk(tasks, offset, result, true);
+    }
+
+    private void importChunk(List<Task> tasks, int offset, BulkImportResult result, boolean allowPastEndDate) {
+        Set<Long> referencedIds = tasks.stream()
+                .flatMap(task -> Stream.of(task.getCreator(), task.getAssignee()))
+                .filter(Objects::nonNull)
+                .map(User::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existingIds = referencedIds.isEmpty() ? Set.of() : userRepository.findExistingIds(referencedIds);
+
+        List<Task> valid = new ArrayList<>(tasks.size());
+        List<BulkImportResult.RecordError> errors = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            try {
+                validateTask(task, allowPastEndDate);
+                task.setCreator(userReference(task.getCreator(), existingIds, "Creator"));
+                task.setAssignee(userReference(task.getAssignee(), existingIds, "Assignee"));
+            } catch (ValidationException e) {
+                errors.add(new BulkImportResult.RecordError(offset + i, e.getMessage()));
+                continue;
+            }
+            task.setId(null);
+            if (task.getCreationDateTime() == null) {
+                task.setCreationDateTime(now);
+            }
+            if (task.getUpdateDateTime() == null) {
+                task.setUpdateDateTime(task.getCreationDateTime());
+            }
+            task.indexTags();
+            valid.add(task);
+        }
+
+        taskRepository.saveAll(valid);
+        entityManager.flush();
+        entityManager.clear();
+        if (!valid.isEmpty()) {
+            statisticsService.markStale();
+            deadlineService.markStale();
+        }
+        valid.forEach(task -> textIndex.recordChange(task.getId(), task.getTitle(), task.getDescription()));
+
+        result.setImported(result.getImported() + valid.size());
+        result.getErrors().addAll(errors);
+    }
+
+    // Fills task_tags for one batch of tasks saved before the tag index existed.
+    // Returns the last id processed, or null once there is nothing left.
+    @Transactional
+    public Long backfillTagIndex(Long afterId, int batchSize) {
+        List<Task> tasks = taskRepository.findUnindexedTags(afterId, PageRequest.ofSize(batchSize));
+        if (tasks.isEmpty()) {
+            return null;
+        }
+        tasks.forEach(Task::indexTags);
+        return tasks.get(tasks.size() - 1).getId();
+    }
+
+    // Copies the fields set in the request; null or blank fields keep their current value.
+    // Package-private so TaskWriteBuffer merges updates with the same rules.
+    void applyChanges(Task task, Task changes, UnaryOperator<User> users) {
+        if (changes.getTitle() != null && !changes.getTitle().trim().isEmpty()) {
+            task.setTitle(changes.getTitle());
+        }
+
+        if (changes.getDescription() != null) {
+            task.setDescription(changes.getDescription());
+        }
+
+        if (changes.getEndDate() != null) {
+            task.setEndDate(changes.getEndDate());
+        }
+
+        if (changes.getTags() != null) {
+            task.setTags(changes.getTags());
+        }
+
+        if (changes.getPriority() != null) {
+            task.setPriority(changes.getPriority());
+        }
+
+        if (changes.getStatus() != null && !changes.getStatus().trim().isEmpty()) {
+            task.setStatus(changes.getStatus());
+        }
+
+        if (changes.getAssignee() != null) {
+            task.setAssignee(users.apply(changes.getAssignee()));
+        }
+
+        if (changes.getCreator() != null) {
+            task.setCreator(users.apply(changes.getCreator()));
+        }
+    }
+
+    // Delivered to TaskEventBroker only after the transaction commits
+    private void publish(TaskEvent.Type type, Task task) {
+        Long assigneeId = task.getAssignee() == null ? null : task.getAssignee().getId();
+        eventPublisher.publishEvent(TaskEvent.of(type, task.getId(), assigneeId, task.getStatus()));
+    }
+
+    private User userReference(User user, Set<Long> existingIds, String role) {
+        if (user.getId() == null || !existingIds.contains(user.getId())) {
+            throw new ValidationException(role + " not found");
+        }
+        return entityManager.getReference(User.class, user.getId());
+    }
+
+    // Request bodies carry users as {"id": ...}; with a null version Hibernate would treat
+    // such an instance as transient, so the association is set to a reference instead
+    private User managedUser(User user) {
+        return user.getId() == null ? user : entityManager.getReference(User.class, user.getId());
+    }
+
+    private void requireCursorValue(TaskCursor cursor, Object sortValue) {
+        if (cursor != null && sortValue == null) {
+            throw new ValidationException("Cursor does not match the requested sort");
+        }
+    }
+
+    private String searchSortKey(String sort) {
+        String sortKey = sort == null ? "id" : sort.toLowerCase(Locale.ROOT);
+        if (!Set.of("id", "updated", "due").contains(sortKey)) {
+            throw new ValidationException("Sort must be 'id', 'updated' or 'due'");
+        }
+        return sortKey;
+    }
+
+    private Sort searchOrder(String sortKey) {
+        return switch (sortKey) {
+            case "updated" -> Sort.by(Sort.Order.desc("updateDateTime"), Sort.Order.desc("id"));
+            case "due" -> Sort.by("endDate", "id");
+            default -> Sort.by("id");
+        };
+    }
+
+    private Specification<Task> searchSpec(TaskFilter filter, String sortKey, TaskCursor after) {
+        if (filter.getDueFrom() != null && filter.getDueTo() != null && filter.getDueFrom().isAfter(filter.getDueTo())) {
+            throw new ValidationException("dueFrom must not be after dueTo");
+        }
+        Specification<Task> keyset = switch (sortKey) {
+            case "updated" -> {
+                requireCursorValue(after, after == null ? null : after.getUpdateDateTime());
+                yield TaskSpecifications.beforeUpdate(after);
+            }
+            case "due" -> {
+                requireCursorValue(after, after == null ? null : after.getEndDate());
+                yield TaskSpecifications.afterDue(after);
+            }
+            default -> TaskSpecifications.afterId(after);
+        };
+        return Specification.where(TaskSpecifications.statusIn(filter.getStatus()))
+                .and(TaskSpecifications.priorityIn(filter.getPriority()))
+                .and(TaskSpecifications.assignedTo(filter.getAssigneeId()))
+                .and(TaskSpecifications.createdBy(filter.getCreatorId()))
+                .and(TaskSpecifications.dueOnOrAfter(filter.getDueFrom()))
+                .and(TaskSpecifications.dueOnOrBefore(filter.getDueTo()))
+                .and(TaskSpecifications.taggedWith(filter.getTag() == null ? null : Task.normalizeTag(filter.getTag())))
+                .and(keyset);
+    }
+
+    private String searchCursor(String sortKey, Long id, LocalDateTime updateDateTime, LocalDate endDate) {
+        return new TaskCursor(id,
+                "updated".equals(sortKey) ? updateDateTime : null,
+                "due".equals(sortKey) ? endDate : null).encode();
+    }
+
+    private boolean isUpdateSort(String sort) {
+        if (sort == null || "id".equalsIgnoreCase(sort)) {
+            return false;
+        }
+        if ("updated".equalsIgnoreCase(sort)) {
+            return true;
+        }
+        throw new ValidationException("Sort must be 'id' or 'updated'");
+    }
+
+    private int pageSize(Integer size) {
+        return size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+    }
+
+    private Long parseUserCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.valueOf(cursor);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+
+    private List<UserTasks> groupByAssignee(List<User> users, List<Task> tasks) {
+        Map<Long, List<Task>> tasksByAssignee = tasks.stream()
+                .collect(Collectors.groupingBy(task -> task.getAssignee().getId()));
+        List<UserTasks> result = new ArrayList<>(users.size());
+        for (User user : users) {
+            result.add(new UserTasks(user, tasksByAssignee.getOrDefault(user.getId(), List.of())));
+        }
+        return result;
+    }
+
+    private void checkVersion(Task task, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Task.class, task.getId());
+        }
+    }
+
+    void validateStatus(String status) {
+        if (status == null || status.trim().isEmpty() || status.length() > 20) {
+            throw new ValidationException("Status must not be empty and must be at most 20 characters");
+        }
+    }
+
+    // Package-private so the JMH benchmarks can measure it directly
+    void validateTask(Task task) {
+        validateTask(task, false);
     }
 
-    private void validateTask(Task task) {
+    private void validateTask(Task task, boolean allowPastEndDate) {
         if (task.getTitle() == null || task.getTitle().trim().isEmpty() || task.getTitle().length() > 100) {
             throw new ValidationException("Title must not be empty and must be less than 100 characters");
         }
@@ -134,7 +680,7 @@ public class TaskService {
         }
 
         // Check if end date is in the future
-        if (task.getEndDate().isBefore(LocalDate.now())) {
+        if (!allowPastEndDate && task.getEndDate().isBefore(LocalDate.now())) {
             throw new ValidationException("Please enter a valid date from today onwards");
         }
 
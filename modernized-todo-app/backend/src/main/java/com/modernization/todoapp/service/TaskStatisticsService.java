@@ -0,0 +1,145 @@
+package com.modernization.todoapp.service;
+
+import com.modernization.todoapp.dto.TaskSnapshot;
+import com.modernization.todoapp.dto.TaskStatistics;
+import com.modernization.todoapp.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dashboard counters kept in memory. TaskService reports each committed change
+ * as a before/after snapshot, so serving the numbers never scans the tasks.
+ * Overdue and due-soon counts come from open tasks bucketed by end date and
+ * only sum the buckets in range. Changes whose previous state is unknown (bulk
+ * updates, imports) mark the counters stale, and a periodic reconciliation
+ * rebuilds them from GROUP BY queries to absorb any drift.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskStatisticsService {
+
+    private final TaskRepository taskRepository;
+
+    private volatile Counters counters = new Counters();
+    private volatile boolean stale = true;
+
+    @Value("${todo.tasks.closed-statuses:COMPLETED}")
+    private Set<String> closedStatuses;
+
+    @Value("${todo.tasks.due-soon-days:3}")
+    private int dueSoonDays;
+
+    public void recordChange(TaskSnapshot before, TaskSnapshot after) {
+        AfterCommit.run(() -> {
+            Counters current = counters;
+            if (before != null) {
+                current.apply(before, -1);
+            }
+            if (after != null) {
+                current.apply(after, 1);
+            }
+        });
+    }
+
+    public void markStale() {
+        AfterCommit.run(() -> stale = true);
+    }
+
+    public TaskStatistics getStatistics() {
+        if (stale) {
+            reconcile();
+        }
+        return counters.toStatistics(LocalDate.now(), dueSoonDays);
+    }
+
+    // Changes committed while the queries run may be missed until the next pass
+    @Scheduled(initialDelayString = "${todo.stats.reconcile-ms:300000}", fixedDelayString = "${todo.stats.reconcile-ms:300000}")
+    public synchronized void reconcile() {
+        long started = System.currentTimeMillis();
+        stale = false;
+        Counters rebuilt = new Counters();
+        for (Object[] row : taskRepository.countByStatus()) {
+            rebuilt.byStatus.computeIfAbsent((String) row[0], k -> new LongAdder()).add((Long) row[1]);
+            rebuilt.total.add((Long) row[1]);
+        }
+        for (Object[] row : taskRepository.countByPriority()) {
+            rebuilt.byPriority.computeIfAbsent((Integer) row[0], k -> new LongAdder()).add((Long) row[1]);
+        }
+        for (Object[] row : taskRepository.countByAssignee()) {
+            rebuilt.byAssignee.computeIfAbsent((Long) row[0], k -> new LongAdder()).add((Long) row[1]);
+        }
+        for (Object[] row : taskRepository.countOpenByEndDate(closedStatuses)) {
+            rebuilt.openByEndDate.computeIfAbsent((LocalDate) row[0], k -> new LongAdder()).add((Long) row[1]);
+        }
+        counters = rebuilt;
+        log.debug("Task statistics reconciled in {} ms", System.currentTimeMillis() - started);
+    }
+
+    private class Counters {
+
+        // Null keys (e.g. a missing priority) are not representable in these maps
+        final LongAdder total = new LongAdder();
+        final Map<String, LongAdder> byStatus = new ConcurrentHashMap<>();
+        final Map<Integer, LongAdder> byPriority = new ConcurrentHashMap<>();
+        final Map<Long, LongAdder> byAssignee = new ConcurrentHashMap<>();
+        final NavigableMap<LocalDate, LongAdder> openByEndDate = new ConcurrentSkipListMap<>();
+        final LocalDateTime reconciledAt = LocalDateTime.now();
+
+        void apply(TaskSnapshot task, int delta) {
+            total.add(delta);
+            if (task.getStatus() != null) {
+                byStatus.computeIfAbsent(task.getStatus(), k -> new LongAdder()).add(delta);
+            }
+            if (task.getPriority() != null) {
+                byPriority.computeIfAbsent(task.getPriority(), k -> new LongAdder()).add(delta);
+            }
+            if (task.getAssigneeId() != null) {
+                byAssignee.computeIfAbsent(task.getAssigneeId(), k -> new LongAdder()).add(delta);
+            }
+            if (task.getEndDate() != null && !closedStatuses.contains(task.getStatus())) {
+                openByEndDate.computeIfAbsent(task.getEndDate(), k -> new LongAdder()).add(delta);
+            }
+        }
+
+        TaskStatistics toStatistics(LocalDate today, int days) {
+            return new TaskStatistics(
+                    total.sum(),
+                    sums(byStatus),
+                    sums(byPriority),
+                    sums(byAssignee),
+                    sum(openByEndDate.headMap(today, false)),
+                    sum(openByEndDate.subMap(today, true, today.plusDays(days), true)),
+                    days,
+                    reconciledAt);
+        }
+
+        private <K> Map<K, Long> sums(Map<K, LongAdder> counts) {
+            Map<K, Long> result = new TreeMap<>();
+            counts.forEach((key, count) -> {
+                long value = count.sum();
+                if (value != 0) {
+                    result.put(key, value);
+                }
+            });
+            return result;
+        }
+
+        private long sum(Map<LocalDate, LongAdder> buckets) {
+            return buckets.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.modernization.todoapp.service;
+
+import com.modernization.todoapp.dto.TextIndexStatus;
+import com.modernization.todoapp.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ValidationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over task titles and descriptions. Text is
+ * accent-folded and lower-cased, so "Implementação" matches "implementacao".
+ * Every query term must match; "impl*" matches any term with that prefix.
+ * Hits are ranked by term weight (title words count more) times inverse
+ * document frequency. Single writes are indexed incrementally; a rebuild
+ * scans the table into a new index and swaps it in, while queries keep using
+ * the old one.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskTextIndex {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile boolean rebuildRequested;
+    private volatile Index index = new Index(null);
+
+    // Changes committed while a rebuild scans the table, replayed on the new index; guarded by this
+    private List<Consumer<Index>> pending;
+
+    @Value("${todo.text-search.max-results:100}")
+    private int maxResults;
+
+    @Value("${todo.text-search.min-prefix-length:2}")
+    private int minPrefixLength;
+
+    @Value("${todo.text-search.stopwords:}")
+    private Set<String> stopwords;
+
+    public void recordChange(Long id, String title, String description) {
+        Map<String, Integer> weights = weigh(title, description);
+        AfterCommit.run(() -> apply(current -> current.put(id, weights)));
+    }
+
+    public void recordDelete(Long id) {
+        AfterCommit.run(() -> apply(current -> current.remove(id)));
+    }
+
+    // Task ids with their score, best first
+    public Map<Long, Double> search(String query, Integer limit) {
+        List<Clause> clauses = parse(query);
+        if (clauses.isEmpty()) {
+            throw new ValidationException("Query must contain at least one searchable word");
+        }
+        int max = limit == null ? maxResults : Math.max(1, Math.min(limit, maxResults));
+        Index current = index;
+
+        Map<Long, Double> scores = null;
+        for (Clause clause : clauses) {
+            Map<Long, Double> matches = current.match(clause);
+            if (scores == null) {
+                scores = matches;
+            } else {
+                // AND: keep only tasks matched by every clause
+                Map<Long, Double> previous = scores;
+                scores = new HashMap<>();
+                for (Map.Entry<Long, Double> match : matches.entrySet()) {
+                    Double score = previous.get(match.getKey());
+                    if (score != null) {
+                        scores.put(match.getKey(), score + match.getValue());
+                    }
+                }
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+
+        Map<Long, Double> ranked = new LinkedHashMap<>();
+        scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(max)
+                .forEach(entry -> ranked.put(entry.getKey(), entry.getValue()));
+        return ranked;
+    }
+
+    public TextIndexStatus getStatus() {
+        Index current = index;
+        return new TextIndexStatus(current.termsByTask.size(), current.postings.size(), rebuilding.get(), current.builtAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuildAsync();
+    }
+
+    // Returns immediately; a request during a running rebuild schedules one more pass
+    public void rebuildAsync() {
+        rebuildRequested = true;
+        if (rebuilding.compareAndSet(false, true)) {
+            rebuilder.execute(this::runRebuilds);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    private void runRebuilds() {
+        try {
+            while (rebuildRequested) {
+                rebuildRequested = false;
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            log.error("Full-text index rebuild failed; keeping the previous index", e);
+            synchronized (this) {
+                pending = null;
+            }
+        } finally {
+            rebuilding.set(false);
+        }
+        // A request that arrived after the loop ended but before the flag was cleared
+        if (rebuildRequested) {
+            rebuildAsync();
+        }
+    }
+
+    private void rebuild() {
+        long started = System.currentTimeMillis();
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+        Index rebuilt = new Index(LocalDateTime.now());
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = taskRepository.streamText()) {
+                rows.forEach(row -> rebuilt.put((Long) row[0], weigh((String) row[1], (String) row[2])));
+            }
+        });
+        synchronized (this) {
+            pending.forEach(change -> change.accept(rebuilt));
+            pending = null;
+            index = rebuilt;
+        }
+        log.info("Full-text index rebuilt: {} tasks, {} terms in {} ms",
+                rebuilt.termsByTask.size(), rebuilt.postings.size(), System.currentTimeMillis() - started);
+    }
+
+    private synchronized void apply(Consumer<Index> change) {
+        change.accept(index);
+        if (pending != null) {
+            pending.add(change);
+        }
+    }
+
+    private Map<String, Integer> weigh(String title, String description) {
+        Map<String, Integer> weights = new HashMap<>();
+        tokens(title).forEach(term -> weights.merge(term, TITLE_WEIGHT, Integer::sum));
+        tokens(description).forEach(term -> weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+        return weights;
+    }
+
+    // Whitespace-separated words; a trailing '*' turns the last token of a word into a prefix
+    private List<Clause> parse(String query) {
+        List<Clause> clauses = new ArrayList<>();
+        for (String word : query.trim().split("\\s+")) {
+            boolean prefix = word.endsWith("*");
+            List<String> tokens = tokens(word);
+            for (int i = 0; i < tokens.size(); i++) {
+                String token = tokens.get(i);
+                boolean isPrefix = prefix && i == tokens.size() - 1;
+                if (isPrefix && token.length() < minPrefixLength) {
+                    throw new ValidationException("Prefixes need at least " + minPrefixLength + " characters");
+                }
+                clauses.add(new Clause(token, isPrefix));
+            }
+        }
+        return clauses;
+    }
+
+    private List<String> tokens(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_WORD.split(folded)) {
+            if (!token.isEmpty() && !stopwords.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static final class Clause {
+
+        final String term;
+        final boolean prefix;
+
+        Clause(String term, boolean prefix) {
+            this.term = term;
+            this.prefix = prefix;
+        }
+    }
+
+    // Writes are serialized by TaskTextIndex.apply; reads run concurrently on the same maps
+    private static final class Index {
+
+        // term -> task id -> weighted frequency; sorted so a prefix is a range scan
+        final ConcurrentSkipListMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+        // task id -> its terms, to unindex the old text on update or delete
+        final Map<Long, Set<String>> termsByTask = new ConcurrentHashMap<>();
+        final LocalDateTime builtAt;
+
+        Index(LocalDateTime builtAt) {
+            this.builtAt = builtAt;
+        }
+
+        void put(Long id, Map<String, Integer> weights) {
+            remove(id);
+            weights.forEach((term, weight) -> postings.computeIfAbsent(term, k -> new ConcurrentHashMap<>()).put(id, weight));
+            termsByTask.put(id, weights.keySet());
+        }
+
+        void remove(Long id) {
+            Set<String> terms = termsByTask.remove(id);
+            if (terms == null) {
+                return;
+            }
+            for (String term : terms) {
+                postings.computeIfPresent(term, (k, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+
+        // Score per task for one clause; for a prefix, the best matching term counts
+        Map<Long, Double> match(Clause clause) {
+            Map<String, Map<Long, Integer>> terms;
+            if (clause.prefix) {
+                terms = postings.subMap(clause.term, true, clause.term + Character.MAX_VALUE, false);
+            } else {
+                Map<Long, Integer> ids = postings.get(clause.term);
+                terms = ids == null ? Map.of() : Map.of(clause.term, ids);
+            }
+            int documents = Math.max(1, termsByTask.size());
+            Map<Long, Double> scores = new HashMap<>();
+            terms.values().forEach(ids -> {
+                double idf = Math.log(1.0 + (double) documents / ids.size());
+                ids.forEach((id, weight) -> scores.merge(id, weight * idf, Math::max));
+            });
+            return scores;
+        }
+    }
+}
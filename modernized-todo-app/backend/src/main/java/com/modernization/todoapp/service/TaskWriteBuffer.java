@@ -0,0 +1,309 @@
+package com.modernization.todoapp.service;
+
+import com.modernization.todoapp.model.Task;
+import com.modernization.todoapp.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ValidationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional write-behind mode for PUT and PATCH status on a single task
+ * (todo.write-buffer.enabled). Updates to the same task within the window are
+ * merged into one pending change and flushed with other tasks in batched
+ * transactions. Until a change is committed, reads of that task are served from
+ * the buffered view, so callers see their own writes. Requests carrying a
+ * version, and any request once the buffer is full, are written through after
+ * flushing what is pending. Everything left is flushed on shutdown, after the web
+ * server has stopped taking requests and before the datasource is closed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskWriteBuffer implements SmartLifecycle {
+
+    private final TaskService taskService;
+    private final UserService userService;
+    private final MeterRegistry meterRegistry;
+
+    // Changes not yet handed to a flush, and those being flushed; both serve reads
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+    private final Map<Long, Pending> inFlight = new ConcurrentHashMap<>();
+
+    private volatile ScheduledExecutorService flusher;
+    private Counter updatesCounter;
+    private Counter writesCounter;
+    private Counter failuresCounter;
+    private Timer flushTimer;
+
+    @Value("${todo.write-buffer.enabled:false}")
+    private boolean enabled;
+
+    @Value("${todo.write-buffer.window-ms:200}")
+    private long windowMs;
+
+    @Value("${todo.write-buffer.batch-size:50}")
+    private int batchSize;
+
+    @Value("${todo.write-buffer.max-pending:10000}")
+    private int maxPending;
+
+    @Override
+    public void start() {
+        if (!enabled || flusher != null) {
+            return;
+        }
+        updatesCounter = meterRegistry.counter("todo.write-buffer.updates");
+        writesCounter = meterRegistry.counter("todo.write-buffer.writes");
+        failuresCounter = meterRegistry.counter("todo.write-buffer.failures");
+        flushTimer = Timer.builder("todo.write-buffer.flush")
+                .description("Time to write one batch of coalesced task updates")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("todo.write-buffer.pending", pending, Map::size).register(meterRegistry);
+        // Updates received per row written; 1.0 means nothing was coalesced
+        Gauge.builder("todo.write-buffer.coalescing-ratio", this,
+                buffer -> buffer.writesCounter.count() == 0 ? 1.0
+                        : buffer.updatesCounter.count() / buffer.writesCounter.count())
+                .register(meterRegistry);
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-write-buffer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(() -> flush(false), windowMs, windowMs, TimeUnit.MILLISECONDS);
+        log.info("Task write buffer enabled: window {} ms, batch size {}", windowMs, batchSize);
+    }
+
+    @Override
+    public void stop() {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush(true);
+        flusher = null;
+        log.info("Task write buffer flushed on shutdown");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return flusher != null;
+    }
+
+    // Stopped after the web server (higher phases stop first), so no update arrives after the last flush
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    public Task updateTask(Long id, Task changes) {
+        if (!enabled || changes.getVersion() != null || pending.size() >= maxPending) {
+            flushNow();
+            return taskService.updateTask(id, changes);
+        }
+        return buffer(id, changes, true);
+    }
+
+    // The buffered view, or null when the status was written through
+    public Task updateTaskStatus(Long id, String status, Long version) {
+        if (!enabled || version != null || pending.size() >= maxPending) {
+            flushNow();
+            taskService.updateTaskStatus(id, status, version);
+            return null;
+        }
+        // Only the status is checked, as on the write-through path: the rest of the task,
+        // e.g. an end date that has passed, is not what this request changes
+        taskService.validateStatus(status);
+        Task changes = new Task();
+        changes.setStatus(status);
+        return buffer(id, changes, false);
+    }
+
+    // What the caller wrote but the database may not have yet
+    public Optional<Task> getBuffered(Long id) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Pending entry = pending.get(id);
+        if (entry == null) {
+            entry = inFlight.get(id);
+        }
+        return entry == null ? Optional.empty() : Optional.of(entry.view);
+    }
+
+    // The task is being deleted; a change still pending for it would only fail
+    public void discard(Long id) {
+        if (enabled) {
+            pending.remove(id);
+            inFlight.remove(id);
+        }
+    }
+
+    // Writes everything buffered before returning
+    public void flushNow() {
+        if (enabled && (!pending.isEmpty() || !inFlight.isEmpty())) {
+            flush(true);
+        }
+    }
+
+    // Validated here only: once acknowledged, a change is written as is at flush time
+    private Task buffer(Long id, Task changes, boolean validateView) {
+        // Loaded outside compute() so no database call runs while the map bin is locked
+        Task base = pending.containsKey(id) || inFlight.containsKey(id) ? null : loadView(id);
+        User assignee = changes.getAssignee() == null ? null : cachedUser(changes.getAssignee(), "Assignee");
+        User creator = changes.getCreator() == null ? null : cachedUser(changes.getCreator(), "Creator");
+
+        Pending entry = pending.compute(id, (key, current) -> {
+            Pending inFlightEntry = inFlight.get(key);
+            Task previous = current != null ? current.view
+                    : inFlightEntry != null ? inFlightEntry.view
+                    : base != null ? base : loadView(key);
+
+            // Validated against the merged view so a bad request fails now, not at flush time
+            Task view = copy(previous);
+            taskService.applyChanges(view, changes, user -> user == changes.getAssignee() ? assignee : creator);
+            if (validateView) {
+                taskService.validateTask(view);
+            }
+            view.setUpdateDateTime(LocalDateTime.now());
+
+            Task merged = current == null ? new Task() : copy(current.changes);
+            taskService.applyChanges(merged, changes, user -> user);
+            return new Pending(merged, view, current == null ? System.currentTimeMillis() : current.since);
+        });
+        updatesCounter.increment();
+        // A full batch goes out without waiting for the window
+        ScheduledExecutorService current = flusher;
+        if (pending.size() >= batchSize && current != null) {
+            current.execute(() -> flush(true));
+        }
+        return entry.view;
+    }
+
+    // Serialized: the scheduled flush, flushNow() and shutdown never overlap
+    private synchronized void flush(boolean all) {
+        long cutoff = System.currentTimeMillis() - windowMs;
+        Map<Long, Pending> batch = new LinkedHashMap<>();
+        for (Map.Entry<Long, Pending> entry : pending.entrySet()) {
+            if (all || entry.getValue().since <= cutoff) {
+                batch.put(entry.getKey(), entry.getValue());
+            }
+        }
+        // Published as in flight before leaving pending, so reads never fall through to the database
+        batch.forEach(inFlight::put);
+        batch.entrySet().removeIf(entry -> {
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                return false;
+            }
+            // Merged with a newer update meanwhile; goes out with the next flush
+            inFlight.remove(entry.getKey(), entry.getValue());
+            return true;
+        });
+
+        List<Long> ids = new ArrayList<>(batch.keySet());
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            Map<Long, Pending> chunk = new LinkedHashMap<>();
+            ids.subList(from, Math.min(from + batchSize, ids.size())).forEach(id -> chunk.put(id, batch.get(id)));
+            write(chunk);
+            chunk.forEach(inFlight::remove);
+        }
+    }
+
+    private void write(Map<Long, Pending> chunk) {
+        Map<Long, Task> changes = new LinkedHashMap<>();
+        chunk.forEach((id, entry) -> changes.put(id, entry.changes));
+        long started = System.nanoTime();
+        try {
+            Set<Long> missing = taskService.applyBufferedUpdates(changes);
+            recordWritten(changes.size(), missing);
+        } catch (RuntimeException e) {
+            // One bad change rolls back the whole batch; retry one by one to isolate it
+            log.warn("Batched flush of {} task updates failed, retrying individually: {}", changes.size(), e.getMessage());
+            changes.forEach((id, change) -> {
+                try {
+                    recordWritten(1, taskService.applyBufferedUpdates(Map.of(id, change)));
+                } catch (RuntimeException individual) {
+                    failuresCounter.increment();
+                    log.error("Dropping buffered update for task {}: {}", id, individual.getMessage());
+                }
+            });
+        } finally {
+            flushTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void recordWritten(int count, Set<Long> missing) {
+        writesCounter.increment(count - missing.size());
+        if (!missing.isEmpty()) {
+            log.debug("Buffered updates skipped for deleted tasks {}", missing);
+        }
+    }
+
+    // Detached copy with its users loaded, safe to serve after the request that loaded it ends
+    private Task loadView(Long id) {
+        Task task = taskService.getTaskById(id)
+                .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
+        Task view = copy(task);
+        view.setCreator(userService.getUserById(task.getCreator().getId()).orElse(null));
+        view.setAssignee(userService.getUserById(task.getAssignee().getId()).orElse(null));
+        return view;
+    }
+
+    private User cachedUser(User user, String role) {
+        if (user.getId() == null) {
+            throw new ValidationException(role + " not found");
+        }
+        return userService.getUserById(user.getId())
+                .orElseThrow(() -> new ValidationException(role + " not found"));
+    }
+
+    private static Task copy(Task task) {
+        Task copy = new Task();
+        BeanUtils.copyProperties(task, copy, "normalizedTags");
+        copy.setNormalizedTags(new HashSet<>());
+        return copy;
+    }
+
+    private static final class Pending {
+
+        // Non-null fields are the ones to write
+        final Task changes;
+        // The task as the caller last wrote it
+        final Task view;
+        // When the first coalesced update arrived; the window counts from here
+        final long since;
+
+        Pending(Task changes, Task view, long since) {
+            this.changes = changes;
+            this.view = view;
+            this.since = since;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.modernization.todoapp.service;
+
+import com.modernization.todoapp.dto.BulkImportResult;
+import com.modernization.todoapp.dto.TestDataRequest;
+import com.modernization.todoapp.dto.TestDataResult;
+import com.modernization.todoapp.model.Task;
+import com.modernization.todoapp.model.User;
+import jakarta.validation.ValidationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Synthetic users and tasks for sizing and reproducing issues. Users are
+ * generated in chunks; each chunk is persisted by a worker through the bulk
+ * import path (JDBC batches), followed by its users' tasks in chunks of the
+ * same size, so memory stays bounded at millions of rows. Every chunk draws
+ * from its own random stream derived from the seed, so the rows do not depend
+ * on how the workers are scheduled. Only available with the test profile.
+ */
+@Service
+@Lazy
+@Profile("test")
+@RequiredArgsConstructor
+@Slf4j
+public class TestDataGenerator {
+
+    private static final long PROGRESS_INTERVAL = 100_000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String[] FIRST_NAMES = {"João", "Maria", "Ana", "Pedro", "Lucas", "Juliana", "Carlos",
+            "Fernanda", "Rafael", "Beatriz", "Marcos", "Camila", "Paulo", "Larissa", "Tiago", "Patrícia"};
+    private static final String[] LAST_NAMES = {"Silva", "Santos", "Oliveira", "Souza", "Lima", "Pereira",
+            "Costa", "Ferreira", "Rodrigues", "Almeida", "Nascimento", "Carvalho", "Gomes", "Ribeiro"};
+    private static final String[] VERBS = {"Implementar", "Revisar", "Testar", "Documentar", "Migrar", "Corrigir",
+            "Otimizar", "Validar"};
+    private static final String[] SUBJECTS = {"API REST", "relatório mensal", "tela de login", "extrato COBOL",
+            "cadastro de usuários", "integração", "consulta de tarefas", "pipeline de deploy"};
+
+    private final UserService userService;
+    private final TaskService taskService;
+
+    @Value("${todo.test-data.workers:4}")
+    private int workers;
+
+    @Value("${todo.test-data.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${todo.test-data.max-rows:20000000}")
+    private long maxRows;
+
+    public TestDataResult generate(TestDataRequest request) {
+        validate(request);
+        Distribution<String> statuses = new Distribution<>(request.getStatusWeights());
+        Distribution<Integer> priorities = new Distribution<>(request.getPriorityWeights());
+        LocalDate today = LocalDate.now();
+        long start = System.currentTimeMillis();
+
+        Progress progress = new Progress(start);
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        // Bounds the chunks waiting for a worker
+        Semaphore inFlight = new Semaphore(workers * 2);
+        try {
+            for (int from = 0; from < request.getUsers(); from += chunkSize) {
+                int offset = from;
+                int count = Math.min(chunkSize, request.getUsers() - from);
+                inFlight.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        generateChunk(request, statuses, priorities, today, offset, count, progress);
+                    } catch (RuntimeException e) {
+                        log.warn("Test data chunk at user {} failed: {}", offset, e.getMessage());
+                        progress.merge(progress.users, 0, count,
+                                List.of(new BulkImportResult.RecordError(offset, "Chunk failed: " + e.getMessage())));
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+        }
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.DAYS)) {
+                throw new IllegalStateException("Test data generation did not finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Test data generation interrupted", e);
+        }
+
+        TestDataResult result = new TestDataResult();
+        result.setSeed(request.getSeed());
+        result.setUsers(progress.users);
+        result.setTasks(progress.tasks);
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        long rows = progress.users.getImported() + (long) progress.tasks.getImported();
+        result.setRowsPerSecond(rows * 1000.0 / Math.max(result.getElapsedMillis(), 1));
+        progress.users.setElapsedMillis(result.getElapsedMillis());
+        progress.tasks.setElapsedMillis(result.getElapsedMillis());
+        log.info("Test data generated: {} users, {} tasks in {} ms ({} rows/s, seed {})",
+                progress.users.getImported(), progress.tasks.getImported(), result.getElapsedMillis(),
+                Math.round(result.getRowsPerSecond()), request.getSeed());
+        return result;
+    }
+
+    private void generateChunk(TestDataRequest request, Distribution<String> statuses, Distribution<Integer> priorities,
+                               LocalDate today, int offset, int count, Progress progress) {
+        Random random = new Random(request.getSeed() * 31 + offset);
+
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(user(random, today, offset + i));
+        }
+        BulkImportResult userResult = new BulkImportResult();
+        userService.importUserChunk(users, offset, userResult);
+        progress.merge(progress.users, userResult.getImported(), count, userResult.getErrors());
+
+        // importUserChunk set the ids on the persisted users; rejected ones keep a null id
+        List<User> persisted = users.stream().filter(user -> user.getId() != null).toList();
+        long taskCount = (long) persisted.size() * request.getTasksPerUser();
+        long taskOffset = (long) offset * request.getTasksPerUser();
+        for (long from = 0; from < taskCount; from += chunkSize) {
+            int size = (int) Math.min(chunkSize, taskCount - from);
+            List<Task> tasks = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                long index = from + i;
+                User assignee = persisted.get((int) (index / request.getTasksPerUser()));
+                User creator = persisted.get(random.nextInt(persisted.size()));
+                tasks.add(task(random, request, statuses, priorities, today, taskOffset + index, creator, assignee));
+            }
+            BulkImportResult taskResult = new BulkImportResult();
+            taskService.importTaskChunk(tasks, (int) (taskOffset + from), taskResult);
+            progress.merge(progress.tasks, taskResult.getImported(), size, taskResult.getErrors());
+        }
+    }
+
+    // The index in the last name keeps the natural key unique
+    private User user(Random random, LocalDate today, int index) {
+        return User.builder()
+                .firstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)])
+                .lastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " " + index)
+                .birthDate(today.minusYears(18).minusDays(1 + random.nextInt(62 * 365)))
+                .build();
+    }
+
+    private Task task(Random random, TestDataRequest request, Distribution<String> statuses,
+                      Distribution<Integer> priorities, LocalDate today, long index, User creator, User assignee) {
+        String subject = SUBJECTS[random.nextInt(SUBJECTS.length)];
+        List<String> tags = new ArrayList<>(request.getTagsPerTask());
+        for (int i = 0; i < request.getTagsPerTask(); i++) {
+            tags.add("tag-" + random.nextInt(request.getTagVocabulary()));
+        }
+        int spread = request.getDueInDaysMax() - request.getDueInDaysMin() + 1;
+        return Task.builder()
+                .title(VERBS[random.nextInt(VERBS.length)] + " " + subject + " #" + index)
+                .description("Tarefa gerada para testes de carga: " + subject)
+                .endDate(today.plusDays(request.getDueInDaysMin() + random.nextInt(spread)))
+                .creator(creator)
+                .assignee(assignee)
+                .tags(tags.isEmpty() ? null : String.join(",", tags))
+                .priority(priorities.pick(random))
+                .status(statuses.pick(random))
+                .build();
+    }
+
+    private void validate(TestDataRequest request) {
+        if (request.getUsers() < 1 || request.getTasksPerUser() < 0) {
+            throw new ValidationException("users must be at least 1 and tasksPerUser must not be negative");
+        }
+        if ((long) request.getUsers() * (1 + request.getTasksPerUser()) > maxRows) {
+            throw new ValidationException("At most " + maxRows + " rows can be generated at once");
+        }
+        if (request.getTagVocabulary() < 1 || request.getTagsPerTask() < 0 || request.getTagsPerTask() > 5) {
+            throw new ValidationException("tagVocabulary must be at least 1 and tagsPerTask between 0 and 5");
+        }
+        if (request.getDueInDaysMin() < 0 || request.getDueInDaysMax() < request.getDueInDaysMin()) {
+            throw new ValidationException("Due dates must be from today onwards and dueInDaysMin <= dueInDaysMax");
+        }
+        if (request.getPriorityWeights().keySet().stream().anyMatch(priority -> priority < 1 || priority > 3)) {
+            throw new ValidationException("Priorities must be between 1 and 3");
+        }
+    }
+
+    // Weighted choice; keys are sorted so the same seed always maps to the same values
+    private static final class Distribution<T extends Comparable<T>> {
+
+        private final List<T> values = new ArrayList<>();
+        private final List<Integer> cumulative = new ArrayList<>();
+        private int total;
+
+        Distribution(Map<T, Integer> weights) {
+            if (weights == null || weights.isEmpty()) {
+                throw new ValidationException("Weights must not be empty");
+            }
+            new TreeMap<>(weights).forEach((value, weight) -> {
+                if (weight == null || weight < 0) {
+                    throw new ValidationException("Weights must not be negative");
+                }
+                total += weight;
+                values.add(value);
+                cumulative.add(total);
+            });
+            if (total == 0) {
+                throw new ValidationException("At least one weight must be positive");
+            }
+        }
+
+        T pick(Random random) {
+            int draw = random.nextInt(total);
+            for (int i = 0; i < values.size(); i++) {
+                if (draw < cumulative.get(i)) {
+                    return values.get(i);
+                }
+            }
+            return values.get(values.size() - 1);
+        }
+    }
+
+    // Results merged from the workers, with a progress line every PROGRESS_INTERVAL rows
+    private static final class Progress {
+
+        final BulkImportResult users = new BulkImportResult();
+        final BulkImportResult tasks = new BulkImportResult();
+        private final AtomicLong rows = new AtomicLong();
+        private final long start;
+
+        Progress(long start) {
+            this.start = start;
+        }
+
+        void merge(BulkImportResult target, int imported, int received, List<BulkImportResult.RecordError> errors) {
+            synchronized (this) {
+                target.setImported(target.getImported() + imported);
+                target.setReceived(target.getReceived() + received);
+                int room = MAX_REPORTED_ERRORS - target.getErrors().size();
+                if (room > 0) {
+                    target.getErrors().addAll(errors.subList(0, Math.min(room, errors.size())));
+                }
+            }
+            long before = rows.getAndAdd(imported);
+            if ((before + imported) / PROGRESS_INTERVAL > before / PROGRESS_INTERVAL) {
+                long elapsed = Math.max(System.currentTimeMillis() - start, 1);
+                log.info("Test data: {} rows written ({} rows/s)", before + imported, (before + imported) * 1000 / elapsed);
+            }
+        }
+    }
+}
@@ -1,64 +1,135 @@
 package com.modernization.todoapp.service;
 
+import com.modernization.todoapp.config.CacheConfig;
+import com.modernization.todoapp.config.MetricsConfig;
+import com.modernization.todoapp.dto.BulkImportResult;
+import com.modernization.todoapp.dto.FieldSelection;
+import com.modernization.todoapp.dto.ResourceState;
+import com.modernization.todoapp.dto.ResourceVersion;
 import com.modernization.todoapp.model.User;
 import com.modernization.todoapp.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.ValidationException;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class UserService {
 
     private final UserRepository userRepository;
+    private final EntityManager entityManager;
+
+    // Properties selectable with fields=
+    private static final Map<String, String> USER_FIELDS = FieldSelection.catalog(
+            "id", "id",
+            "firstName", "firstName",
+            "lastName", "lastName",
+            "birthDate", "birthDate",
+            "age", "birthDate");
 
     @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
+    // Selects only the requested columns; age is derived from birthDate like User.getAge
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getUserFields(String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, USER_FIELDS);
+        return userRepository.findColumns(null, Sort.by("id"), 0, selection.getColumns()).stream()
+                .map(tuple -> {
+                    Map<String, Object> row = selection.toRow(tuple);
+                    row.computeIfPresent("age", (name, birthDate) -> User.ageOf((LocalDate) birthDate));
+                    return row;
+                })
+                .toList();
+    }
+
+    // Single users usually come from the cache, so the fields are picked from the entity
+    public Map<String, Object> selectFields(User user, String fields) {
+        return FieldSelection.parse(fields, USER_FIELDS).toRow(user);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.USERS_CACHE, key = "#id", unless = "#result == null")
     @Transactional(readOnly = true)
     public Optional<User> getUserById(Long id) {
         return userRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
+    public ResourceVersion getUserListVersion() {
+        return ResourceVersion.ofCollection("users", userRepository.findState());
+    }
+
+    // Built from the (usually cached) entity, so revalidating a user costs no query
+    public ResourceVersion getUserVersion(User user) {
+        return ResourceVersion.of("user:" + user.getId(),
+                new ResourceState(1L, user.getId(), user.getVersion(), user.getUpdateDateTime()));
+    }
+
     @Transactional
     public User createUser(User user) {
         validateUser(user);
         
         // Check if user already exists
-        List<User> existingUsers = userRepository.findAll();
-        boolean userExists = existingUsers.stream()
-            .anyMatch(u -> u.getFirstName().equalsIgnoreCase(user.getFirstName()) 
-                        && u.getLastName().equalsIgnoreCase(user.getLastName())
-                        && u.getBirthDate().equals(user.getBirthDate()));
-        
-        if (userExists) {
+        String naturalKey = User.naturalKeyOf(user.getFirstName(), user.getLastName(), user.getBirthDate());
+        if (userRepository.existsByNaturalKey(naturalKey)) {
             throw new ValidationException("User already registered");
         }
         
-        return userRepository.save(user);
+        // The unique index still catches a concurrent insert of the same user
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new ValidationException("User already registered");
+        }
     }
 
+    @CachePut(cacheNames = CacheConfig.USERS_CACHE, key = "#id")
     @Transactional
     public User updateUser(Long id, User userDetails) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
 
+        // Validate and check duplicates before touching the managed entity,
+        // otherwise the lookup query would auto-flush the pending change
+        validateUser(userDetails);
+        String naturalKey = User.naturalKeyOf(userDetails.getFirstName(), userDetails.getLastName(), userDetails.getBirthDate());
+        if (userRepository.existsByNaturalKeyAndIdNot(naturalKey, id)) {
+            throw new ValidationException("User already registered");
+        }
+
         user.setFirstName(userDetails.getFirstName());
         user.setLastName(userDetails.getLastName());
         user.setBirthDate(userDetails.getBirthDate());
 
-        validateUser(user);
-        return userRepository.save(user);
+        // Flushed here so a concurrent update to the same natural key is reported like createUser's
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new ValidationException("User already registered");
+        }
     }
 
+    @CacheEvict(cacheNames = CacheConfig.USERS_CACHE, key = "#id")
     @Transactional
     public void deleteUser(Long id) {
         User user = userRepository.findById(id)
@@ -66,6 +137,52 @@ public class UserService {
         userRepository.delete(user);
     }
 
+    // Persists one chunk of a bulk import in its own transaction, see TaskService.importTaskChunk
+    @Transactional
+    public void importUserChunk(List<User> users, int offset, BulkImportResult result) {
+        List<BulkImportResult.RecordError> errors = new ArrayList<>();
+        List<User> candidates = new ArrayList<>(users.size());
+        List<Integer> positions = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            try {
+                validateUser(users.get(i));
+                candidates.add(users.get(i));
+                positions.add(offset + i);
+            } catch (ValidationException e) {
+                errors.add(new BulkImportResult.RecordError(offset + i, e.getMessage()));
+            }
+        }
+
+        List<String> keys = candidates.stream()
+                .map(u -> User.naturalKeyOf(u.getFirstName(), u.getLastName(), u.getBirthDate()))
+                .toList();
+        Set<String> taken = keys.isEmpty() ? new HashSet<>() : new HashSet<>(userRepository.findExistingNaturalKeys(keys));
+
+        List<User> valid = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            // add() also rejects duplicates inside the same request
+            if (!taken.add(keys.get(i))) {
+                errors.add(new BulkImportResult.RecordError(positions.get(i), "User already registered"));
+                continue;
+            }
+            User user = candidates.get(i);
+            user.setId(null);
+            valid.add(user);
+        }
+
+        userRepository.saveAll(valid);
+        entityManager.flush();
+        entityManager.clear();
+
+        result.setImported(result.getImported() + valid.size());
+        result.getErrors().addAll(errors);
+    }
+
+    @Transactional
+    public int backfillNaturalKeys() {
+        return userRepository.backfillNaturalKeys();
+    }
+
     private void validateUser(User user) {
         if (user.getFirstName() == null || user.getFirstName().trim().isEmpty() || user.getFirstName().length() > 30) {
             throw new ValidationException("First name must not be empty and must be less than 30 characters");
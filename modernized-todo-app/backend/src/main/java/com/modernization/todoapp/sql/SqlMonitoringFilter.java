@@ -0,0 +1,143 @@
+package com.modernization.todoapp.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL statements and DB time of each HTTP request, records them as
+ * metrics and logs a warning with a sample of the SQL when a request goes
+ * over the configured limits or repeats one statement often enough to look
+ * like an N+1 loop.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SqlMonitoringFilter extends OncePerRequestFilter {
+
+    public static final String COUNT_HEADER = "X-SQL-Count";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    private final SqlStatementCounter counter;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${todo.sql.max-statements-per-request:100}")
+    private int maxStatements;
+
+    @Value("${todo.sql.max-time-per-request-ms:500}")
+    private long maxTimeMs;
+
+    @Value("${todo.sql.repeated-statement-threshold:20}")
+    private int repeatedStatementThreshold;
+
+    @Value("${todo.sql.sample-size:5}")
+    private int sampleSize;
+
+    @Value("${todo.sql.response-headers:false}")
+    private boolean responseHeaders;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlRequestStats stats = counter.start();
+        HttpServletResponse target = responseHeaders
+                ? new SqlHeaderResponse(response, stats)
+                : response;
+        try {
+            chain.doFilter(request, target);
+        } finally {
+            counter.stop();
+            if (target instanceof SqlHeaderResponse headerResponse) {
+                headerResponse.addSqlHeaders();
+            }
+            report(request, response, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, HttpServletResponse response, SqlRequestStats stats) {
+        if (stats.getStatements() == 0) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("todo.sql.request.statements")
+                .description("SQL statements executed per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("todo.sql.request.time")
+                .description("Time spent executing SQL per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getElapsedMillis(), TimeUnit.MILLISECONDS);
+
+        int maxRepeats = stats.maxRepeats();
+        boolean tooMany = stats.getStatements() > maxStatements;
+        boolean tooSlow = stats.getElapsedMillis() > maxTimeMs;
+        boolean repeated = maxRepeats >= repeatedStatementThreshold;
+        if (tooMany || tooSlow || repeated) {
+            meterRegistry.counter("todo.sql.request.warnings", "uri", uri,
+                    "reason", repeated ? "repeated" : tooMany ? "statements" : "time").increment();
+            log.warn("SQL budget exceeded: method={} uri={} status={} statements={} sqlTimeMs={} maxRepeats={} possibleNPlusOne={} sample={}",
+                    request.getMethod(), request.getRequestURI(), response.getStatus(), stats.getStatements(),
+                    stats.getElapsedMillis(), maxRepeats, repeated, stats.sample(sampleSize));
+        }
+    }
+
+    // Adds the counters just before the body is written, while headers can still be set
+    private static class SqlHeaderResponse extends HttpServletResponseWrapper {
+
+        private final SqlRequestStats stats;
+        private boolean headersAdded;
+
+        SqlHeaderResponse(HttpServletResponse response, SqlRequestStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addSqlHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addSqlHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addSqlHeaders();
+            super.flushBuffer();
+        }
+
+        void addSqlHeaders() {
+            if (headersAdded || isCommitted()) {
+                return;
+            }
+            headersAdded = true;
+            setHeader(COUNT_HEADER, String.valueOf(stats.getStatements()));
+            setHeader(TIME_HEADER, String.valueOf(stats.getElapsedMillis()));
+        }
+    }
+}
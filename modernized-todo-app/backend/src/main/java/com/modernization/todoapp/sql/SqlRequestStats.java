@@ -0,0 +1,45 @@
+package com.modernization.todoapp.sql;
+
+import lombok.Getter;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * SQL statements issued while serving one HTTP request. Identical statement
+ * texts are counted together, which is what exposes N+1 loops.
+ */
+@Getter
+public class SqlRequestStats {
+
+    // Bounds memory when a request issues thousands of distinct statements
+    private static final int MAX_DISTINCT_STATEMENTS = 500;
+
+    private int statements;
+    private long elapsedMillis;
+    private final Map<String, Integer> countsBySql = new HashMap<>();
+
+    void record(String sql, long elapsedMillis) {
+        this.statements++;
+        this.elapsedMillis += elapsedMillis;
+        if (countsBySql.containsKey(sql) || countsBySql.size() < MAX_DISTINCT_STATEMENTS) {
+            countsBySql.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    public int maxRepeats() {
+        return countsBySql.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+
+    // The most repeated statements, as "count x sql"
+    public List<String> sample(int limit) {
+        return countsBySql.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .map(e -> e.getValue() + " x " + e.getKey())
+                .collect(Collectors.toList());
+    }
+}
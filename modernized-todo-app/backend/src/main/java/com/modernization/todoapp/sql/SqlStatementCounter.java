@@ -0,0 +1,45 @@
+package com.modernization.todoapp.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * datasource-proxy listener that adds every executed statement to the stats
+ * of the request running on the current thread. Statements issued outside a
+ * request (startup, schedulers, import workers) are ignored.
+ */
+public class SqlStatementCounter implements QueryExecutionListener {
+
+    private final ThreadLocal<SqlRequestStats> current = new ThreadLocal<>();
+
+    public SqlRequestStats start() {
+        SqlRequestStats stats = new SqlRequestStats();
+        current.set(stats);
+        return stats;
+    }
+
+    public void stop() {
+        current.remove();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlRequestStats stats = current.get();
+        if (stats == null || queryInfoList.isEmpty()) {
+            return;
+        }
+        // A JDBC batch is one round trip, so it counts once however many rows it binds
+        long elapsed = execInfo.getElapsedTime();
+        for (QueryInfo query : queryInfoList) {
+            stats.record(query.getQuery(), elapsed);
+            elapsed = 0;
+        }
+    }
+}
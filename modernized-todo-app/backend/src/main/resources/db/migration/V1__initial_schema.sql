@@ -0,0 +1,50 @@
+-- Schema as of the fast-startup profile; matches the JPA mappings in model/
+create sequence user_seq start with 1 increment by 50;
+
+create sequence task_seq start with 1 increment by 50;
+
+create table users (
+    id bigint not null,
+    first_name varchar(30),
+    last_name varchar(100),
+    birth_date date not null,
+    natural_key varchar(150),
+    update_date_time timestamp(6),
+    version bigint default 0,
+    primary key (id),
+    constraint uk_users_natural_key unique (natural_key)
+);
+
+create table tasks (
+    id bigint not null,
+    title varchar(100),
+    description varchar(1000),
+    end_date date not null,
+    creator_id bigint not null,
+    assignee_id bigint not null,
+    tags varchar(100),
+    priority integer check ((priority <= 3) and (priority >= 1)),
+    status varchar(20),
+    creation_date_time timestamp(6),
+    update_date_time timestamp(6),
+    version bigint default 0,
+    primary key (id),
+    constraint fk_tasks_creator foreign key (creator_id) references users (id),
+    constraint fk_tasks_assignee foreign key (assignee_id) references users (id)
+);
+
+create index idx_tasks_assignee_status on tasks (assignee_id, status);
+
+create index idx_tasks_status_end_date on tasks (status, end_date);
+
+create index idx_tasks_priority_end_date on tasks (priority, end_date);
+
+create index idx_tasks_end_date on tasks (end_date);
+
+create table task_tags (
+    task_id bigint not null,
+    tag varchar(100),
+    constraint fk_task_tags_task foreign key (task_id) references tasks (id)
+);
+
+create index idx_task_tags_tag on task_tags (tag);
@@ -0,0 +1,82 @@
+package com.modernization.todoapp.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    // Limit 10 within [2, 12], 100 ms threshold, halved on backoff, lists get half the limit
+    private final AdaptiveConcurrencyLimiter limiter =
+            new AdaptiveConcurrencyLimiter(10, 2, 12, 100, 0.5, 0.5, new SimpleMeterRegistry());
+
+    @Test
+    void fastRequestRaisesTheLimitByOneWhenHalfOfItIsUsed() {
+        acquire(RequestClass.WRITE, 5);
+
+        limiter.release(FAST, false);
+
+        assertThat(limiter.getLimit()).isEqualTo(11);
+        assertThat(limiter.getInFlight()).isEqualTo(4);
+    }
+
+    @Test
+    void fastRequestLeavesAnUnderusedLimitAlone() {
+        acquire(RequestClass.WRITE, 1);
+
+        limiter.release(FAST, false);
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void increaseStopsAtTheMaximum() {
+        acquire(RequestClass.WRITE, 10);
+        for (int i = 0; i < 10; i++) {
+            limiter.release(FAST, false);
+            acquire(RequestClass.WRITE, 1);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(12);
+    }
+
+    @Test
+    void slowOrOverloadedRequestCutsTheLimitDownToTheMinimum() {
+        acquire(RequestClass.WRITE, 3);
+
+        limiter.release(SLOW, false);
+        assertThat(limiter.getLimit()).isEqualTo(5);
+
+        limiter.release(FAST, true);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+
+        limiter.release(SLOW, true);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void requestsOverTheLimitAreRejectedAndListsOnlyGetTheirShare() {
+        assertThat(acquire(RequestClass.LIST, 6)).isEqualTo(5);
+        assertThat(acquire(RequestClass.ENTITY_READ, 6)).isEqualTo(5);
+        assertThat(limiter.tryAcquire(RequestClass.WRITE)).isFalse();
+
+        limiter.release(FAST, false);
+        assertThat(limiter.tryAcquire(RequestClass.WRITE)).isTrue();
+    }
+
+    private int acquire(RequestClass requestClass, int requests) {
+        int admitted = 0;
+        for (int i = 0; i < requests; i++) {
+            if (limiter.tryAcquire(requestClass)) {
+                admitted++;
+            }
+        }
+        return admitted;
+    }
+}
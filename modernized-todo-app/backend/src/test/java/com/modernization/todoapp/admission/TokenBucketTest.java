@@ -0,0 +1,62 @@
+package com.modernization.todoapp.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    // 3 tokens, refilled at 10 per second: one every 100 ms
+    private final TokenBucket bucket = new TokenBucket(3, 10, now::get);
+
+    @Test
+    void burstUpToCapacityThenReportsTheWaitForTheNextToken() {
+        assertThat(consume(3)).isEqualTo(3);
+
+        assertThat(bucket.tryConsume()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        advanceMillis(40);
+        assertThat(bucket.tryConsume()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(60));
+    }
+
+    @Test
+    void refillsAtTheConfiguredRate() {
+        consume(3);
+
+        advanceMillis(99);
+        assertThat(bucket.tryConsume()).isPositive();
+        advanceMillis(1);
+        assertThat(bucket.tryConsume()).isZero();
+
+        advanceMillis(250);
+        assertThat(consume(3)).isEqualTo(2);
+    }
+
+    @Test
+    void refillStopsAtCapacity() {
+        consume(3);
+
+        // Enough time for 10 tokens, but the bucket only holds 3
+        advanceMillis(1000);
+
+        assertThat(consume(10)).isEqualTo(3);
+    }
+
+    private int consume(int requests) {
+        int granted = 0;
+        for (int i = 0; i < requests; i++) {
+            if (bucket.tryConsume() == 0) {
+                granted++;
+            }
+        }
+        return granted;
+    }
+
+    private void advanceMillis(long millis) {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
@@ -0,0 +1,165 @@
+package com.modernization.todoapp.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:serialization-test;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.jpa.show-sql=false",
+        "todo.startup.backfill.enabled=false"
+})
+@AutoConfigureMockMvc
+class TaskSerializationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private long userId;
+    private final List<Long> taskIds = new ArrayList<>();
+    private final LocalDate endDate = LocalDate.now().plusDays(7);
+
+    // Every test gets its own assignee, so the lists below only hold its tasks
+    @BeforeEach
+    void createTasks() throws Exception {
+        String lastName = UUID.randomUUID().toString();
+        userId = postJson("/api/users",
+                "{\"firstName\":\"Ana\",\"lastName\":\"" + lastName + "\",\"birthDate\":\"1990-01-01\"}");
+        for (int i = 0; i < 3; i++) {
+            taskIds.add(postJson("/api/tasks", "{\"title\":\"Task " + i + "\",\"description\":\"A longer description "
+                    + "that a projection leaves out\",\"endDate\":\"" + endDate + "\",\"priority\":2,"
+                    + "\"status\":\"TODO\",\"tags\":\"backend,api\",\"creator\":{\"id\":" + userId
+                    + "},\"assignee\":{\"id\":" + userId + "}}"));
+        }
+    }
+
+    @Test
+    void fieldsProjectionReturnsExactlyTheRequestedPropertiesPlusId() throws Exception {
+        mockMvc.perform(get("/api/tasks/user/{userId}", userId).param("fields", "title,status"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("["
+                        + "{\"id\":" + taskIds.get(0) + ",\"title\":\"Task 0\",\"status\":\"TODO\"},"
+                        + "{\"id\":" + taskIds.get(1) + ",\"title\":\"Task 1\",\"status\":\"TODO\"},"
+                        + "{\"id\":" + taskIds.get(2) + ",\"title\":\"Task 2\",\"status\":\"TODO\"}]", true));
+    }
+
+    @Test
+    void pagedFieldsProjectionKeepsThePageEnvelope() throws Exception {
+        mockMvc.perform(get("/api/tasks/user/{userId}", userId).param("fields", "priority").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(2))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andExpect(content().json("{\"items\":["
+                        + "{\"id\":" + taskIds.get(0) + ",\"priority\":2},"
+                        + "{\"id\":" + taskIds.get(1) + ",\"priority\":2}]}"));
+        assertThat(fieldNames(get("/api/tasks/user/" + userId + "?fields=priority&size=2"), "/items/0"))
+                .containsExactly("id", "priority");
+    }
+
+    @Test
+    void singleTaskFieldsProjection() throws Exception {
+        mockMvc.perform(get("/api/tasks/{id}", taskIds.get(0)).param("fields", "endDate,assigneeId"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"id\":" + taskIds.get(0) + ",\"endDate\":\"" + endDate
+                        + "\",\"assigneeId\":" + userId + "}", true));
+    }
+
+    @Test
+    void fieldsProjectionIsSmallerThanTheFullTasks() throws Exception {
+        int full = bodySize("/api/tasks/user/" + userId);
+        int projected = bodySize("/api/tasks/user/" + userId + "?fields=title,status");
+
+        assertThat(projected).isLessThan(full / 4);
+    }
+
+    @Test
+    void summaryViewHasTheCompactShapeAndIsSmallerThanTheFullTasks() throws Exception {
+        assertThat(fieldNames(get("/api/tasks/user/" + userId + "?view=summary"), "/0")).containsExactly(
+                "id", "title", "status", "priority", "endDate", "assigneeId", "assigneeName", "updateDateTime");
+        mockMvc.perform(get("/api/tasks/user/{userId}", userId).param("view", "summary"))
+                .andExpect(jsonPath("$[0].id").value(taskIds.get(0)))
+                .andExpect(jsonPath("$[0].endDate").value(endDate.toString()))
+                .andExpect(jsonPath("$[0].assigneeId").value(userId))
+                .andExpect(jsonPath("$[0].assigneeName").value(startsWith("Ana ")));
+
+        int full = bodySize("/api/tasks/user/" + userId);
+        int summary = bodySize("/api/tasks/user/" + userId + "?view=summary");
+        assertThat(summary).isLessThan(full / 2);
+    }
+
+    @Test
+    void userFieldsProjectionDerivesAge() throws Exception {
+        int expectedAge = Period.between(LocalDate.of(1990, 1, 1), LocalDate.now()).getYears();
+        mockMvc.perform(get("/api/users/{id}", userId).param("fields", "age"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"id\":" + userId + ",\"age\":" + expectedAge + "}", true));
+    }
+
+    @Test
+    void unknownFieldIsRejectedWithTheAllowedList() throws Exception {
+        mockMvc.perform(get("/api/tasks/user/{userId}", userId).param("fields", "title,password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value(containsString("Unknown field 'password'")))
+                .andExpect(jsonPath("$.error").value(containsString("Allowed: id,title,description")));
+    }
+
+    @Test
+    void cborIsNegotiatedAndSmallerThanJson() throws Exception {
+        byte[] json = mockMvc.perform(get("/api/tasks/user/{userId}", userId).accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] cbor = mockMvc.perform(get("/api/tasks/user/{userId}", userId).accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(cbor.length).isLessThan(json.length);
+    }
+
+    private long postJson(String path, String json) throws Exception {
+        String body = mockMvc.perform(post(path).contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private int bodySize(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray().length;
+    }
+
+    private Set<String> fieldNames(RequestBuilder request, String pointer) throws Exception {
+        JsonNode node = objectMapper.readTree(mockMvc.perform(request).andReturn().getResponse().getContentAsString())
+                .at(pointer);
+        Set<String> names = new LinkedHashSet<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
@@ -0,0 +1,140 @@
+package com.modernization.todoapp.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica1 = mock(DataSource.class);
+    private final DataSource replica2 = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replica1Connection = mock(Connection.class);
+    private final Connection replica2Connection = mock(Connection.class);
+    private ReadReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica1.getConnection()).thenReturn(replica1Connection);
+        when(replica2.getConnection()).thenReturn(replica2Connection);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica1);
+        replicas.put("replica-2", replica2);
+        routing = new ReadReplicaRoutingDataSource(primary, replicas, 2, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        ReadYourWrites.end();
+    }
+
+    @Test
+    void readWriteTransactionsUseThePrimary() throws SQLException {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(connections("primary")).isEqualTo(1);
+    }
+
+    @Test
+    void readOnlyTransactionsRotateOverTheReplicas() throws SQLException {
+        readOnlyTransaction();
+
+        assertThat(routing.getConnection()).isSameAs(replica1Connection);
+        assertThat(routing.getConnection()).isSameAs(replica2Connection);
+        assertThat(routing.getConnection()).isSameAs(replica1Connection);
+        assertThat(connections("primary")).isZero();
+        assertThat(connections("replica-1")).isEqualTo(2);
+        assertThat(connections("replica-2")).isEqualTo(1);
+    }
+
+    @Test
+    void failingReplicaIsEjectedAndReadmittedByTheHealthCheck() throws SQLException {
+        when(replica1.getConnection()).thenThrow(new SQLException("down")).thenReturn(replica1Connection);
+        when(replica1Connection.isValid(anyInt())).thenReturn(true);
+        when(replica2Connection.isValid(anyInt())).thenReturn(true);
+        readOnlyTransaction();
+
+        assertThat(routing.getConnection()).isSameAs(replica2Connection);
+        assertThat(routing.getConnection()).isSameAs(replica2Connection);
+        assertThat(healthy("replica-1")).isZero();
+
+        routing.checkReplicas();
+
+        assertThat(healthy("replica-1")).isEqualTo(1);
+        assertThat(routing.getConnection()).isSameAs(replica1Connection);
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWithNoHealthyReplica() throws SQLException {
+        when(replica1.getConnection()).thenThrow(new SQLException("down"));
+        when(replica2.getConnection()).thenThrow(new IllegalStateException("pool failed to start"));
+        readOnlyTransaction();
+
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(healthy("replica-1")).isZero();
+        assertThat(healthy("replica-2")).isZero();
+    }
+
+    @Test
+    void writeInARequestPinsItsLaterReadsToThePrimary() throws SQLException {
+        ReadYourWrites.begin(false);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        routing.getConnection();
+
+        readOnlyTransaction();
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(ReadYourWrites.end()).isTrue();
+    }
+
+    @Test
+    void pinnedClientReadsFromThePrimary() throws SQLException {
+        ReadYourWrites.begin(true);
+        readOnlyTransaction();
+
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(ReadYourWrites.end()).isFalse();
+    }
+
+    @Test
+    void explicitCredentialsGoToThePrimary() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(primary.getConnection("app", "secret")).thenReturn(connection);
+        readOnlyTransaction();
+
+        assertThat(routing.getConnection("app", "secret")).isSameAs(connection);
+        assertThat(connections("primary")).isEqualTo(1);
+    }
+
+    private void readOnlyTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    private double connections(String target) {
+        return meterRegistry.counter("todo.datasource.connections", "target", target).count();
+    }
+
+    private double healthy(String replica) {
+        return meterRegistry.get("todo.datasource.replica.healthy").tag("replica", replica).gauge().value();
+    }
+}
@@ -0,0 +1,112 @@
+package com.modernization.todoapp.service;
+
+import com.modernization.todoapp.dto.TaskDeadline;
+import com.modernization.todoapp.dto.TaskEvent;
+import com.modernization.todoapp.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskDeadlineServiceTest {
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final LocalDate today = LocalDate.now();
+    private TaskDeadlineService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TaskDeadlineService(taskRepository, eventPublisher);
+        ReflectionTestUtils.setField(service, "closedStatuses", Set.of("COMPLETED"));
+        ReflectionTestUtils.setField(service, "dueSoonDays", 3);
+    }
+
+    @Test
+    void firstSeedPublishesNothing() {
+        seedWith(deadline(1L, today.minusDays(1)), deadline(2L, today.plusDays(1)));
+
+        service.sweep();
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+        assertThat(service.getReport(null, 10).getOverdueCount()).isEqualTo(1);
+    }
+
+    @Test
+    void reseedAcrossDaysPublishesTheTransitionsOfTheSkippedDays() {
+        // Last swept two days ago, then a bulk update marked the view stale
+        ReflectionTestUtils.setField(service, "today", today.minusDays(2));
+        seedWith(
+                deadline(1L, today.minusDays(5)),   // already overdue two days ago
+                deadline(2L, today.minusDays(1)),   // due soon then, overdue now
+                deadline(3L, today.plusDays(1)),    // already due soon two days ago
+                deadline(4L, today.plusDays(2)),    // entered the window since
+                deadline(5L, today.plusDays(3)));   // entered the window since
+
+        service.sweep();
+
+        assertThat(publishedEvents()).containsExactlyInAnyOrderEntriesOf(Map.of(
+                2L, TaskEvent.Type.OVERDUE,
+                4L, TaskEvent.Type.DUE_SOON,
+                5L, TaskEvent.Type.DUE_SOON));
+    }
+
+    @Test
+    void reseedOnTheSameDayPublishesNothing() {
+        ReflectionTestUtils.setField(service, "today", today);
+        seedWith(deadline(1L, today.minusDays(1)), deadline(2L, today.plusDays(3)));
+
+        service.sweep();
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void advanceAfterADayPublishesOverdueAndDueSoonTransitions() {
+        ReflectionTestUtils.setField(service, "today", today.minusDays(1));
+        ReflectionTestUtils.setField(service, "stale", false);
+        // Tracked yesterday as due soon
+        @SuppressWarnings("unchecked")
+        Map<Long, TaskDeadline> byId = (Map<Long, TaskDeadline>) ReflectionTestUtils.getField(service, "byId");
+        ReflectionTestUtils.invokeMethod(service, "add", deadline(7L, today.minusDays(1)));
+        when(taskRepository.findOpenDueBetween(any(), any(), anyCollection()))
+                .thenReturn(List.of(deadline(8L, today.plusDays(3))));
+
+        service.sweep();
+
+        assertThat(byId).containsKeys(7L, 8L);
+        assertThat(publishedEvents()).containsExactlyInAnyOrderEntriesOf(Map.of(
+                7L, TaskEvent.Type.OVERDUE,
+                8L, TaskEvent.Type.DUE_SOON));
+    }
+
+    private void seedWith(TaskDeadline... deadlines) {
+        when(taskRepository.findOpenDueUntil(any(), anyCollection())).thenReturn(List.of(deadlines));
+    }
+
+    private Map<Long, TaskEvent.Type> publishedEvents() {
+        ArgumentCaptor<TaskEvent> events = ArgumentCaptor.forClass(TaskEvent.class);
+        verify(eventPublisher, atLeastOnce()).publishEvent(events.capture());
+        return events.getAllValues().stream().collect(Collectors.toMap(TaskEvent::getTaskId, TaskEvent::getType));
+    }
+
+    private static TaskDeadline deadline(Long taskId, LocalDate endDate) {
+        return new TaskDeadline(taskId, 10L, "TODO", endDate);
+    }
+}
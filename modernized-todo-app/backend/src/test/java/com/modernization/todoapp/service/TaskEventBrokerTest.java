@@ -0,0 +1,62 @@
+package com.modernization.todoapp.service;
+
+import com.modernization.todoapp.dto.TaskEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskEventBrokerTest {
+
+    private TaskEventBroker broker;
+
+    @BeforeEach
+    void setUp() {
+        broker = new TaskEventBroker();
+        ReflectionTestUtils.setField(broker, "historySize", 100);
+        ReflectionTestUtils.setField(broker, "subscriberBuffer", 3);
+        ReflectionTestUtils.setField(broker, "timeoutMs", 60_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broker.shutdown();
+    }
+
+    @Test
+    void subscriberIsRegisteredWhenReplayFitsTheBuffer() {
+        publish(3);
+
+        broker.subscribe(null, null, 0L);
+
+        assertThat(broker.getSubscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void subscriberWhoseReplayOverflowsIsDroppedAndNotRegistered() {
+        publish(10);
+
+        broker.subscribe(null, null, 0L);
+
+        assertThat(broker.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    void replayOnlyCountsEventsTheSubscriberAccepts() {
+        for (int i = 0; i < 10; i++) {
+            broker.onTaskEvent(TaskEvent.of(TaskEvent.Type.UPDATED, (long) i, i < 2 ? 1L : 2L, "TODO"));
+        }
+
+        broker.subscribe(1L, null, 0L);
+
+        assertThat(broker.getSubscriberCount()).isEqualTo(1);
+    }
+
+    private void publish(int count) {
+        for (int i = 0; i < count; i++) {
+            broker.onTaskEvent(TaskEvent.of(TaskEvent.Type.UPDATED, (long) i, 1L, "TODO"));
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.modernization.todoapp.service;
+
+import com.modernization.todoapp.repository.TaskRepository;
+import jakarta.validation.ValidationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskTextIndexTest {
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private TaskTextIndex index;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Consumer.class).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        index = new TaskTextIndex(taskRepository, transactionTemplate);
+        ReflectionTestUtils.setField(index, "maxResults", 100);
+        ReflectionTestUtils.setField(index, "minPrefixLength", 2);
+        ReflectionTestUtils.setField(index, "stopwords", Set.of("de", "a"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void matchesAccentAndCaseInsensitively() {
+        index.recordChange(1L, "Implementação da API", null);
+
+        assertThat(index.search("IMPLEMENTACAO", null)).containsOnlyKeys(1L);
+        assertThat(index.search("implementação api", null)).containsOnlyKeys(1L);
+    }
+
+    @Test
+    void everyTermMustMatch() {
+        index.recordChange(1L, "Revisar relatório", "mensal");
+        index.recordChange(2L, "Revisar tela", "login");
+
+        assertThat(index.search("revisar", null)).containsOnlyKeys(1L, 2L);
+        assertThat(index.search("revisar mensal", null)).containsOnlyKeys(1L);
+        assertThat(index.search("revisar cobol", null)).isEmpty();
+    }
+
+    @Test
+    void prefixMatchesAnyTermStartingWithIt() {
+        index.recordChange(1L, "Implementar cache", null);
+        index.recordChange(2L, "Implantar pipeline", null);
+
+        assertThat(index.search("impl*", null)).containsOnlyKeys(1L, 2L);
+        assertThat(index.search("imple*", null)).containsOnlyKeys(1L);
+        assertThatThrownBy(() -> index.search("i*", null)).isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void titleMatchesRankAboveDescriptionMatches() {
+        index.recordChange(1L, "Corrigir build", "cache quebrado");
+        index.recordChange(2L, "Cache de usuários", "corrigir");
+
+        assertThat(index.search("cache", null).keySet()).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void stopwordsAloneAreRejected() {
+        index.recordChange(1L, "Plano de testes", null);
+
+        assertThatThrownBy(() -> index.search("de a", null)).isInstanceOf(ValidationException.class);
+        assertThat(index.search("plano de testes", null)).containsOnlyKeys(1L);
+    }
+
+    @Test
+    void updateReplacesTermsAndDeleteRemovesTask() {
+        index.recordChange(1L, "Migrar extrato", null);
+        index.recordChange(1L, "Validar extrato", null);
+
+        assertThat(index.search("migrar", null)).isEmpty();
+        assertThat(index.search("validar", null)).containsOnlyKeys(1L);
+
+        index.recordDelete(1L);
+        assertThat(index.search("extrato", null)).isEmpty();
+    }
+
+    @Test
+    void limitKeepsTheBestHits() {
+        for (long id = 1; id <= 5; id++) {
+            index.recordChange(id, "Deploy " + id, null);
+        }
+
+        assertThat(index.search("deploy", 2)).hasSize(2).containsOnlyKeys(1L, 2L);
+    }
+
+    @Test
+    void changesAreOnlyAppliedOnceTheTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+        index.recordChange(1L, "Rolled back", null);
+        index.recordChange(2L, "Committed", null);
+        assertThat(index.search("committed", null)).isEmpty();
+
+        var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        // The first one belongs to a transaction that rolled back, the second to one that committed
+        synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        synchronizations.get(1).afterCommit();
+
+        assertThat(index.search("rolled", null)).isEmpty();
+        assertThat(index.search("committed", null)).containsOnlyKeys(2L);
+    }
+
+    @Test
+    void rebuildLoadsTheTableAndSwapsTheIndex() throws InterruptedException {
+        index.recordChange(9L, "Stale entry", null);
+        when(taskRepository.streamText()).thenReturn(Stream.of(
+                new Object[]{1L, "Integração COBOL", "extrato noturno"},
+                new Object[]{2L, "Consulta de tarefas", null}));
+
+        index.rebuildAsync();
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (index.getStatus().isRebuilding() || index.getStatus().getBuiltAt() == null) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+
+        assertThat(index.getStatus().getIndexedTasks()).isEqualTo(2);
+        assertThat(index.search("integracao noturno", null)).containsOnlyKeys(1L);
+        assertThat(index.search("stale", null)).isEmpty();
+    }
+}
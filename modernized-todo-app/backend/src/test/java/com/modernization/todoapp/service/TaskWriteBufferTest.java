@@ -0,0 +1,178 @@
+package com.modernization.todoapp.service;
+
+import com.modernization.todoapp.model.Task;
+import com.modernization.todoapp.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.ValidationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+class TaskWriteBufferTest {
+
+    // Real applyChanges and validation, stubbed persistence
+    private final TaskService taskService = mock(TaskService.class, withSettings().defaultAnswer(CALLS_REAL_METHODS));
+    private final UserService userService = mock(UserService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final User user = User.builder().id(10L).firstName("Ana").lastName("S").build();
+    private TaskWriteBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new TaskWriteBuffer(taskService, userService, meterRegistry);
+        ReflectionTestUtils.setField(buffer, "enabled", true);
+        // Long enough that only flushNow() writes during a test
+        ReflectionTestUtils.setField(buffer, "windowMs", 60_000L);
+        ReflectionTestUtils.setField(buffer, "batchSize", 50);
+        ReflectionTestUtils.setField(buffer, "maxPending", 1000);
+        when(userService.getUserById(anyLong())).thenReturn(Optional.of(user));
+        doReturn(Set.of()).when(taskService).applyBufferedUpdates(anyMap());
+        buffer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        buffer.stop();
+    }
+
+    @Test
+    void updatesToTheSameTaskAreCoalescedIntoOneWrite() {
+        stubTask(1L, LocalDate.now().plusDays(5));
+
+        buffer.updateTaskStatus(1L, "IN_PROGRESS", null);
+        buffer.updateTask(1L, Task.builder().title("Renamed").build());
+        Task view = buffer.updateTaskStatus(1L, "COMPLETED", null);
+
+        assertThat(view.getTitle()).isEqualTo("Renamed");
+        assertThat(view.getStatus()).isEqualTo("COMPLETED");
+        assertThat(buffer.getBuffered(1L)).containsSame(view);
+        verify(taskService, never()).applyBufferedUpdates(anyMap());
+
+        buffer.flushNow();
+
+        Map<Long, Task> written = captureWrites(1).get(0);
+        assertThat(written).containsOnlyKeys(1L);
+        assertThat(written.get(1L).getTitle()).isEqualTo("Renamed");
+        assertThat(written.get(1L).getStatus()).isEqualTo("COMPLETED");
+        // Only the fields the requests set are written
+        assertThat(written.get(1L).getPriority()).isNull();
+        assertThat(buffer.getBuffered(1L)).isEmpty();
+        assertThat(meterRegistry.counter("todo.write-buffer.updates").count()).isEqualTo(3);
+        assertThat(meterRegistry.counter("todo.write-buffer.writes").count()).isEqualTo(1);
+    }
+
+    @Test
+    void differentTasksGoOutInOneBatch() {
+        stubTask(1L, LocalDate.now().plusDays(5));
+        stubTask(2L, LocalDate.now().plusDays(5));
+
+        buffer.updateTaskStatus(1L, "IN_PROGRESS", null);
+        buffer.updateTaskStatus(2L, "COMPLETED", null);
+        buffer.flushNow();
+
+        assertThat(captureWrites(1).get(0)).containsOnlyKeys(1L, 2L);
+    }
+
+    @Test
+    void statusChangeOfAnOverdueTaskIsAccepted() {
+        stubTask(1L, LocalDate.now().minusDays(3));
+
+        Task view = buffer.updateTaskStatus(1L, "COMPLETED", null);
+
+        assertThat(view.getStatus()).isEqualTo("COMPLETED");
+        buffer.flushNow();
+        assertThat(captureWrites(1).get(0)).containsOnlyKeys(1L);
+    }
+
+    @Test
+    void invalidUpdateIsRejectedWhenBufferedNotAtFlush() {
+        stubTask(1L, LocalDate.now().plusDays(5));
+
+        assertThatThrownBy(() -> buffer.updateTask(1L, Task.builder().priority(7).build()))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> buffer.updateTaskStatus(1L, " ", null))
+                .isInstanceOf(ValidationException.class);
+        assertThat(buffer.getBuffered(1L)).isEmpty();
+    }
+
+    @Test
+    void failedBatchIsRetriedOneByOneAndOnlyTheFailingChangeIsDropped() {
+        stubTask(1L, LocalDate.now().plusDays(5));
+        stubTask(2L, LocalDate.now().plusDays(5));
+        doThrow(new IllegalStateException("batch failed")).when(taskService)
+                .applyBufferedUpdates(argThat(changes -> changes.size() == 2));
+        doThrow(new IllegalStateException("task 2 failed")).when(taskService)
+                .applyBufferedUpdates(argThat(changes -> changes.size() == 1
+                        && changes.containsKey(2L)));
+
+        buffer.updateTaskStatus(1L, "IN_PROGRESS", null);
+        buffer.updateTaskStatus(2L, "COMPLETED", null);
+        buffer.flushNow();
+
+        // The batch, then each task on its own
+        assertThat(captureWrites(3)).extracting(Map::keySet)
+                .containsExactly(Set.of(1L, 2L), Set.of(1L), Set.of(2L));
+        assertThat(meterRegistry.counter("todo.write-buffer.writes").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("todo.write-buffer.failures").count()).isEqualTo(1);
+        assertThat(buffer.getBuffered(1L)).isEmpty();
+        assertThat(buffer.getBuffered(2L)).isEmpty();
+    }
+
+    @Test
+    void versionedUpdateFlushesPendingChangesAndWritesThrough() {
+        stubTask(1L, LocalDate.now().plusDays(5));
+        doNothing().when(taskService).updateTaskStatus(any(), any(), any());
+
+        buffer.updateTaskStatus(1L, "IN_PROGRESS", null);
+        Task view = buffer.updateTaskStatus(1L, "COMPLETED", 3L);
+
+        assertThat(view).isNull();
+        assertThat(captureWrites(1).get(0).get(1L).getStatus()).isEqualTo("IN_PROGRESS");
+        verify(taskService).updateTaskStatus(1L, "COMPLETED", 3L);
+    }
+
+    private void stubTask(Long id, LocalDate endDate) {
+        Task task = Task.builder()
+                .id(id)
+                .title("Task " + id)
+                .endDate(endDate)
+                .priority(2)
+                .status("TODO")
+                .creator(user)
+                .assignee(user)
+                .build();
+        doReturn(Optional.of(task)).when(taskService).getTaskById(id);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<Long, Task>> captureWrites(int times) {
+        ArgumentCaptor<Map<Long, Task>> writes = ArgumentCaptor.forClass(Map.class);
+        verify(taskService, times(times)).applyBufferedUpdates(writes.capture());
+        return writes.getAllValues();
+    }
+}